@@ -0,0 +1,262 @@
+package com.simulation.lift.model;
+
+import com.simulation.lift.api.DispatchStrategy;
+import com.simulation.lift.strategy.LookStrategy;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+public class LiftBenchmarks {
+    private static final int[] FLOORS = {5, 60, 600};
+    private static final int[] WAITING_PASSENGERS = {1, 100, 10000};
+    private static final int[] THREADS = {1, 4};
+
+    /**
+     * State shared by the threads of a benchmark, built by the first thread asking for it.
+     */
+    private static final Map<String, Object> SHARED = new ConcurrentHashMap<>();
+
+    /**
+     * Benchmarks the hot paths of Lift and Floor for every combination of floor number,
+     * waiting passengers and contending threads, and prints the average time per operation.
+     * The arguments are the warm-up iterations, measured iterations, iteration time in
+     * milliseconds and the name of a benchmark to run alone, all optional.
+     *
+     * @param args                          command line arguments
+     */
+    public static void main(String[] args) {
+        int warmupIterations = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        int measurementIterations = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        long iterationTime = args.length > 2 ? Long.parseLong(args[2]) : 200;
+        String filter = args.length > 3 ? args[3] : "";
+
+        MicroBenchmark benchmark = new MicroBenchmark(warmupIterations, measurementIterations, iterationTime);
+        System.out.println(String.format("%-32s %7s %9s %7s %12s %10s", "Benchmark", "Floors", "Waiting", "Threads", "ns/op", "Error"));
+        for (int floors : FLOORS) {
+            for (int waiting : WAITING_PASSENGERS) {
+                for (int threads : THREADS) {
+                    run(benchmark, filter, "Lift.setArriveFloor", floors, waiting, threads, () -> setArriveFloor(shared(floors, waiting), floors));
+                    run(benchmark, filter, "Lift.getUpMove", floors, waiting, threads, () -> getUpMove(shared(floors, waiting), initialCalls(floors, waiting)));
+                    run(benchmark, filter, "Lift.getDownMove", floors, waiting, threads, () -> getDownMove(shared(floors, waiting), initialCalls(floors, waiting)));
+                    run(benchmark, filter, "Lift.boardPassenger+alight", floors, waiting, threads, () -> boardAndAlight(floors, waiting));
+                    run(benchmark, filter, "Floor.addNew+removePassenger", floors, waiting, threads, () -> addNewAndRemove(sharedFloor(floors, waiting)));
+                    run(benchmark, filter, "Floor.addReturn+removePassenger", floors, waiting, threads, () -> addReturnAndRemove(sharedFloor(floors, waiting)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Method measures a benchmark and prints its row, unless it is filtered out.
+     *
+     * @param benchmark                     benchmark runner
+     * @param filter                        name of the benchmark to run alone, empty for all
+     * @param name                          name of the benchmark
+     * @param floors                        number of floors
+     * @param waiting                       number of waiting passengers
+     * @param threads                       number of contending threads
+     * @param operations                    supplier of the operation of each thread
+     */
+    private static void run(MicroBenchmark benchmark, String filter, String name, int floors, int waiting, int threads, Supplier<MicroBenchmark.Operation> operations) {
+        if (!name.contains(filter)) {
+            return;
+        }
+        SHARED.clear();
+        double[] score = benchmark.measure(threads, operations);
+        System.out.println(String.format("%-32s %7d %9d %7d %12.1f %10.1f", name, floors, waiting, threads, score[0], score[1]));
+    }
+
+    /**
+     * Method gets the lift shared by the threads, whose building has a hall call for
+     * each waiting passenger, spread at random over the floors and directions.
+     *
+     * @param floors                        number of floors
+     * @param waiting                       number of waiting passengers
+     * @return                              Lift object
+     */
+    private static Lift shared(int floors, int waiting) {
+        return (Lift) SHARED.computeIfAbsent("lift", key -> newLift(floors, initialCalls(floors, waiting)));
+    }
+
+    /**
+     * Method creates the hall calls of the waiting passengers, spread at random over the floors and directions.
+     * The same floors, waiting passengers and calls are always created for the same arguments.
+     *
+     * @param floors                        number of floors
+     * @param waiting                       number of waiting passengers
+     * @return                              hall calls
+     */
+    private static HallCallRegistry initialCalls(int floors, int waiting) {
+        SplittableRandom random = new SplittableRandom(floors * 31L + waiting);
+        HallCallRegistry arriveFloors = new HallCallRegistry(floors, 1);
+        for (int i = 0; i < waiting; i++) {
+            arriveFloors.add(random.nextInt(floors) + 1, random.nextBoolean() ? Lift.LiftMode.UP : Lift.LiftMode.DOWN, 0);
+        }
+        return arriveFloors;
+    }
+
+    /**
+     * Method gets the floor shared by the threads, with the waiting passengers queued on it.
+     *
+     * @param floors                        number of floors
+     * @param waiting                       number of waiting passengers
+     * @return                              Floor object
+     */
+    private static Floor sharedFloor(int floors, int waiting) {
+        return (Floor) SHARED.computeIfAbsent("floor", key -> {
+            SplittableRandom random = new SplittableRandom(floors * 31L + waiting);
+            Floor floor = new Floor(1, 1, 1);
+            for (int i = 0; i < waiting; i++) {
+                floor.addNewPassenger(new Passenger(random.nextInt(120) + 50, 1, random.nextInt(floors - 1) + 2));
+            }
+            return floor;
+        });
+    }
+
+    /**
+     * Method creates a lift on the first floor, which is never started.
+     *
+     * @param floors                        number of floors
+     * @param arriveFloors                  hall calls of the building
+     * @return                              Lift object
+     */
+    private static Lift newLift(int floors, HallCallRegistry arriveFloors) {
+        DispatchStrategy strategy = new LookStrategy();
+        return new Lift(floors, 1, Integer.MAX_VALUE / 2, 1, 1, 0, "Lift-1", arriveFloors, strategy, false, true);
+    }
+
+    /**
+     * Benchmark adding a hall call to the lift, then removing it so the number of calls stays the same.
+     *
+     * @param lift                          Lift object
+     * @param floors                        number of floors
+     * @return                              operation
+     */
+    private static MicroBenchmark.Operation setArriveFloor(Lift lift, int floors) {
+        SplittableRandom random = new SplittableRandom();
+        return () -> {
+            int floorNo = random.nextInt(floors) + 1;
+            Lift.LiftMode direction = random.nextBoolean() ? Lift.LiftMode.UP : Lift.LiftMode.DOWN;
+            boolean isCalled = lift.getArriveFloors().contains(floorNo, direction);
+            lift.setArriveFloor(floorNo, direction);
+            if (!isCalled) {
+                lift.getArriveFloors().remove(floorNo, direction);
+            }
+            return floorNo;
+        };
+    }
+
+    /**
+     * Benchmark finding the next stop going up from a random floor. The call claimed
+     * by the lift is given back, so the calls stay the same.
+     *
+     * @param lift                          Lift object
+     * @param initialCalls                  hall calls before the benchmark
+     * @return                              operation
+     */
+    private static MicroBenchmark.Operation getUpMove(Lift lift, HallCallRegistry initialCalls) {
+        SplittableRandom random = new SplittableRandom();
+        DispatchStrategy strategy = new LookStrategy();
+        return () -> {
+            int floorNo = random.nextInt(lift.getMaxFloor()) + 1;
+            int moves = strategy.getUpMove(lift, floorNo);
+            if (moves >= 0) {
+                restoreCalls(lift, initialCalls, floorNo + moves);
+            }
+            return moves;
+        };
+    }
+
+    /**
+     * Benchmark finding the next stop going down from a random floor. The call claimed
+     * by the lift is given back, so the calls stay the same.
+     *
+     * @param lift                          Lift object
+     * @param initialCalls                  hall calls before the benchmark
+     * @return                              operation
+     */
+    private static MicroBenchmark.Operation getDownMove(Lift lift, HallCallRegistry initialCalls) {
+        SplittableRandom random = new SplittableRandom();
+        DispatchStrategy strategy = new LookStrategy();
+        return () -> {
+            int floorNo = random.nextInt(lift.getMaxFloor()) + 1;
+            int moves = strategy.getDownMove(lift, floorNo);
+            if (moves >= 0) {
+                restoreCalls(lift, initialCalls, floorNo - moves);
+            }
+            return moves;
+        };
+    }
+
+    /**
+     * Method gives back the hall calls of a floor which the lift may have claimed.
+     *
+     * @param lift                          Lift object
+     * @param initialCalls                  hall calls before the benchmark
+     * @param floorNo                       floor of the claimed call
+     */
+    private static void restoreCalls(Lift lift, HallCallRegistry initialCalls, int floorNo) {
+        for (Lift.LiftMode direction : new Lift.LiftMode[] {Lift.LiftMode.UP, Lift.LiftMode.DOWN}) {
+            if (initialCalls.contains(floorNo, direction)) {
+                lift.getArriveFloors().add(floorNo, direction, lift.getIndex());
+            }
+        }
+    }
+
+    /**
+     * Benchmark boarding a passenger going to the lift's floor and alighting them,
+     * while the lift carries the waiting passengers to other floors. Each thread has its own lift.
+     *
+     * @param floors                        number of floors
+     * @param waiting                       number of passengers in the lift
+     * @return                              operation
+     */
+    private static MicroBenchmark.Operation boardAndAlight(int floors, int waiting) {
+        SplittableRandom random = new SplittableRandom(floors * 31L + waiting);
+        Lift lift = newLift(floors, new HallCallRegistry(floors, 1));
+        for (int i = 0; i < waiting; i++) {
+            lift.boardPassenger(new Passenger(random.nextInt(120) + 50, 1, random.nextInt(floors - 1) + 2));
+        }
+
+        Passenger[] passengers = new Passenger[64];
+        for (int i = 0; i < passengers.length; i++) {
+            passengers[i] = new Passenger(random.nextInt(120) + 50, 2, 1);
+        }
+        int[] index = new int[1];
+        return () -> {
+            Passenger passenger = passengers[index[0]++ & (passengers.length - 1)];
+            lift.boardPassenger(passenger);
+            return lift.alight().size();
+        };
+    }
+
+    /**
+     * Benchmark queueing a new passenger at the back of the floor and boarding the first one.
+     *
+     * @param floor                         Floor object
+     * @return                              operation
+     */
+    private static MicroBenchmark.Operation addNewAndRemove(Floor floor) {
+        Passenger passenger = new Passenger(70, 1, 2);
+        return () -> {
+            floor.addNewPassenger(passenger);
+            return floor.removePassenger(Lift.LiftMode.UP) != null ? 1 : 0;
+        };
+    }
+
+    /**
+     * Benchmark returning a passenger to the front of the floor and boarding them again.
+     *
+     * @param floor                         Floor object
+     * @return                              operation
+     */
+    private static MicroBenchmark.Operation addReturnAndRemove(Floor floor) {
+        Passenger passenger = new Passenger(70, 1, 2);
+        return () -> {
+            floor.addReturnPassenger(passenger);
+            return floor.removePassenger(Lift.LiftMode.UP) != null ? 1 : 0;
+        };
+    }
+}
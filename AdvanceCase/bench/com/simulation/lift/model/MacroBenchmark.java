@@ -0,0 +1,218 @@
+package com.simulation.lift.model;
+
+import com.simulation.lift.strategy.LookStrategy;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class MacroBenchmark {
+    private static final int[] FLOORS = {20, 100, 300};
+    private static final int[] LIFTS = {2, 10};
+    private static final int[] LIFT_WEIGHTS = {500, 2000};
+    private static final int[] PASSENGERS = {200, 2000};
+    private static final long SEED = 42;
+    private static final long MIN_MEASUREMENT_TIME = 500_000_000;
+
+    private static final String HEADER = "floors,lifts,liftWeight,passengers,passengersPerSecond,eventsPerSecond,allocationRate,peakHeap";
+
+    /**
+     * Result of a grid point, averaged over the measured runs.
+     */
+    private static class Result {
+        private final String key;
+        private final double passengersPerSecond;
+        private final double eventsPerSecond;
+        private final double allocationRate;
+        private final long peakHeap;
+
+        private Result(String key, double passengersPerSecond, double eventsPerSecond, double allocationRate, long peakHeap) {
+            this.key = key;
+            this.passengersPerSecond = passengersPerSecond;
+            this.eventsPerSecond = eventsPerSecond;
+            this.allocationRate = allocationRate;
+            this.peakHeap = peakHeap;
+        }
+
+        private String toCsv() {
+            return String.format("%s,%.1f,%.1f,%.1f,%d", this.key, this.passengersPerSecond, this.eventsPerSecond, this.allocationRate, this.peakHeap);
+        }
+
+        private static Result fromCsv(String line) {
+            String[] values = line.split(",");
+            String key = String.join(",", values[0], values[1], values[2], values[3]);
+            return new Result(key, Double.parseDouble(values[4]), Double.parseDouble(values[5]), Double.parseDouble(values[6]), Long.parseLong(values[7]));
+        }
+    }
+
+    /**
+     * Runs headless buildings to completion over a fixed grid of floors, lifts, capacities and passengers,
+     * prints their throughput, allocation rate and peak heap, and compares them with a baseline file.
+     * The arguments are the baseline file, "--save" to write the results as the new baseline,
+     * the measured runs of each grid point and the tolerated throughput regression in percent, all optional.
+     * The exit status is 1 when a grid point regressed beyond the tolerance.
+     *
+     * @param args                          command line arguments
+     * @throws IOException                  if the baseline file cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        Path baseline = Paths.get(args.length > 0 ? args[0] : "bench/MacroBaseline.csv");
+        boolean isSave = args.length > 1 && args[1].equals("--save");
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        double tolerance = args.length > 3 ? Double.parseDouble(args[3]) : 10;
+
+        Map<String, Result> previous = Files.exists(baseline) ? readBaseline(baseline) : new HashMap<>();
+        List<Result> results = new ArrayList<>();
+        int regressions = 0;
+
+        //a first pass over the grid warms the JIT up, so the first grid points are not charged for the compilation.
+        for (int floors : FLOORS) {
+            for (int lifts : LIFTS) {
+                for (int liftWeight : LIFT_WEIGHTS) {
+                    for (int passengers : PASSENGERS) {
+                        measure(floors, lifts, liftWeight, passengers, 1);
+                    }
+                }
+            }
+        }
+
+        System.out.println(String.format("%-6s %5s %6s %10s %12s %12s %10s %10s %10s",
+                "Floors", "Lifts", "Weight", "Passengers", "Passengers/s", "Events/s", "Alloc MB/s", "Heap MB", "vs Base"));
+        for (int floors : FLOORS) {
+            for (int lifts : LIFTS) {
+                for (int liftWeight : LIFT_WEIGHTS) {
+                    for (int passengers : PASSENGERS) {
+                        Result result = measure(floors, lifts, liftWeight, passengers, runs);
+                        results.add(result);
+
+                        String change = "";
+                        Result base = previous.get(result.key);
+                        if (base != null) {
+                            double percent = (result.passengersPerSecond / base.passengersPerSecond - 1) * 100;
+                            change = String.format("%+.1f%%", percent);
+                            if (percent < -tolerance) {
+                                change += " !";
+                                regressions++;
+                            }
+                        }
+                        System.out.println(String.format("%-6d %5d %6d %10d %12.0f %12.0f %10.1f %10.1f %10s",
+                                floors, lifts, liftWeight, passengers, result.passengersPerSecond, result.eventsPerSecond,
+                                result.allocationRate / (1 << 20), result.peakHeap / (double) (1 << 20), change));
+                    }
+                }
+            }
+        }
+
+        if (isSave) {
+            List<String> lines = new ArrayList<>();
+            lines.add(HEADER);
+            for (Result result : results) {
+                lines.add(result.toCsv());
+            }
+            Files.write(baseline, lines, StandardCharsets.UTF_8);
+            System.out.println("Baseline saved to " + baseline);
+        }
+
+        if (regressions > 0) {
+            System.out.println(regressions + " grid points regressed by more than " + tolerance + "%.");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Method runs a grid point once to warm up, then measures the average of several runs,
+     * repeating the runs until they last at least half a second.
+     *
+     * @param floors                        number of floors
+     * @param lifts                         number of lifts
+     * @param liftWeight                    lift capacity
+     * @param passengers                    number of passengers
+     * @param runs                          number of measured runs
+     * @return                              result of the grid point
+     */
+    private static Result measure(int floors, int lifts, int liftWeight, int passengers, int runs) {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                heapPools.add(pool);
+            }
+        }
+
+        long totalTime = 0;
+        long totalEvents = 0;
+        long peakHeap = 0;
+        int measuredRuns = 0;
+        //the first run only warms the JIT up.
+        runBuilding(floors, lifts, liftWeight, passengers);
+
+        //the peak heap is sampled on a single run following a collection, so it is not the garbage of previous runs.
+        System.gc();
+        for (MemoryPoolMXBean pool : heapPools) {
+            pool.resetPeakUsage();
+        }
+
+        long allocated = threadMXBean.getCurrentThreadAllocatedBytes();
+        while (measuredRuns < runs || totalTime < MIN_MEASUREMENT_TIME) {
+            long startTime = System.nanoTime();
+            Building building = runBuilding(floors, lifts, liftWeight, passengers);
+            totalTime += System.nanoTime() - startTime;
+            totalEvents += building.getEngine().getProcessedEvents();
+
+            if (measuredRuns == 0) {
+                for (MemoryPoolMXBean pool : heapPools) {
+                    peakHeap += pool.getPeakUsage().getUsed();
+                }
+            }
+            measuredRuns++;
+        }
+        long totalAllocated = threadMXBean.getCurrentThreadAllocatedBytes() - allocated;
+
+        double seconds = totalTime / 1e9;
+        String key = String.join(",", String.valueOf(floors), String.valueOf(lifts), String.valueOf(liftWeight), String.valueOf(passengers));
+        return new Result(key, (double) passengers * measuredRuns / seconds, totalEvents / seconds, totalAllocated / seconds, peakHeap);
+    }
+
+    /**
+     * Method builds a headless building with the seeded passengers and runs it to completion.
+     *
+     * @param floors                        number of floors
+     * @param lifts                         number of lifts
+     * @param liftWeight                    lift capacity
+     * @param passengers                    number of passengers
+     * @return                              Building object
+     */
+    private static Building runBuilding(int floors, int lifts, int liftWeight, int passengers) {
+        Building building = new Building(floors, Math.max(620 / floors, 1), 1, lifts, 1, 1, liftWeight, passengers, false, new LookStrategy(), SEED);
+        building.run();
+        return building;
+    }
+
+    /**
+     * Method reads the results of a previous run from a baseline file.
+     *
+     * @param baseline                      baseline file
+     * @return                              results by grid point
+     * @throws IOException                  if the baseline file cannot be read
+     */
+    private static Map<String, Result> readBaseline(Path baseline) throws IOException {
+        Map<String, Result> results = new HashMap<>();
+        for (String line : Files.readAllLines(baseline, StandardCharsets.UTF_8)) {
+            if (line.isEmpty() || line.equals(HEADER)) {
+                continue;
+            }
+            Result result = Result.fromCsv(line);
+            results.put(result.key, result);
+        }
+        return results;
+    }
+}
@@ -0,0 +1,127 @@
+package com.simulation.lift.model;
+
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.function.Supplier;
+
+public class MicroBenchmark {
+    /**
+     * Operation measured by the benchmark. Its result is consumed so the JIT cannot remove the work.
+     */
+    @FunctionalInterface
+    public interface Operation {
+        long run();
+    }
+
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final long iterationTime;
+
+    private volatile long sink;
+
+    /**
+     * Constructs an instance of the object containing warmupIterations,
+     * measurementIterations and iterationTime arguments.
+     *
+     * @param warmupIterations              iterations run before measuring
+     * @param measurementIterations         iterations measured
+     * @param iterationTime                 duration of an iteration in milliseconds
+     */
+    public MicroBenchmark(int warmupIterations, int measurementIterations, long iterationTime) {
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+        this.iterationTime = iterationTime;
+    }
+
+    /**
+     * Method measures the average time of an operation run by contending threads.
+     * Each thread gets its own operation from the supplier, so the supplier decides
+     * whether the state under test is shared between the threads or not.
+     *
+     * @param threads                       number of contending threads
+     * @param operations                    supplier of the operation of each thread
+     * @return                              average time per operation in nanoseconds, and its error
+     */
+    public double[] measure(int threads, Supplier<Operation> operations) {
+        double[] scores = new double[this.measurementIterations];
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        long[][] counts = new long[threads][this.warmupIterations + this.measurementIterations];
+
+        Thread[] workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            Operation operation = operations.get();
+            long[] count = counts[i];
+            workers[i] = new Thread(() -> runIterations(operation, count, barrier), "Benchmark-" + i);
+            workers[i].start();
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+
+        for (int i = 0; i < this.measurementIterations; i++) {
+            long total = 0;
+            for (long[] count : counts) {
+                total += count[this.warmupIterations + i];
+            }
+            scores[i] = this.iterationTime * 1e6 * threads / Math.max(total, 1);
+        }
+        return statistics(scores);
+    }
+
+    /**
+     * Method runs the iterations of a thread, each thread starting an iteration together with the others.
+     *
+     * @param operation                     operation to measure
+     * @param count                         number of operations run in each iteration
+     * @param barrier                       barrier aligning the iterations of the threads
+     */
+    private void runIterations(Operation operation, long[] count, CyclicBarrier barrier) {
+        long result = 0;
+        for (int i = 0; i < count.length; i++) {
+            try {
+                barrier.await();
+            } catch (InterruptedException | BrokenBarrierException e) {
+                throw new IllegalStateException(e);
+            }
+
+            long deadline = System.nanoTime() + this.iterationTime * 1_000_000;
+            long operations = 0;
+            do {
+                //the clock is read every 64 operations, so it does not dominate the fastest operations.
+                for (int j = 0; j < 64; j++) {
+                    result += operation.run();
+                }
+                operations += 64;
+            } while (System.nanoTime() < deadline);
+            count[i] = operations;
+        }
+        this.sink = result;
+    }
+
+    /**
+     * Method gets the mean of the scores and its error, as the 99.9% confidence interval.
+     *
+     * @param scores                        score of each iteration
+     * @return                              mean and error
+     */
+    private static double[] statistics(double[] scores) {
+        double mean = 0;
+        for (double score : scores) {
+            mean += score;
+        }
+        mean /= scores.length;
+
+        double variance = 0;
+        for (double score : scores) {
+            variance += (score - mean) * (score - mean);
+        }
+        variance /= Math.max(scores.length - 1, 1);
+
+        return new double[] {mean, 3.29 * Math.sqrt(variance / scores.length)};
+    }
+}
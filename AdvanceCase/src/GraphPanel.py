@@ -1,28 +1,51 @@
+import os
+import struct
+
 import matplotlib.pyplot as plt
-from com.simulation.lift.api.CostDict import cost_dict
+import numpy as np
+
+SWEEP_RESULTS = os.path.join(os.path.dirname(os.path.abspath(__file__)), 'com', 'simulation', 'lift', 'api', 'SweepResults.bin')
+MAGIC = 0x4C535750
+VERSION = 4
+HEADER_SIZE = 16
+COLUMNS = [('lift_capacity', '<i4'), ('floor_number', '<i4'), ('passenger_number', '<i4'), ('lift_number', '<i4'),
+           ('cost', '<f8'), ('total_moves', '<i4'), ('total_board', '<i4'), ('total_alight', '<i4'),
+           ('simulation_time', '<i8'), ('processed_events', '<i8')]
+ROW_SIZE = sum(np.dtype(dtype).itemsize for _, dtype in COLUMNS)
+
+
+def read_sweep_results(path):
+    """Maps the columnar sweep file written by SweepStore.java and joins its chunks column by column."""
+    data = np.memmap(path, dtype=np.uint8, mode='r')
+    magic, version = struct.unpack_from('<ii', data, 0)
+    if magic != MAGIC or version != VERSION:
+        raise ValueError('Not a sweep results file: ' + path)
+
+    chunks = {name: [] for name, _ in COLUMNS}
+    position = HEADER_SIZE
+    while position + 4 <= len(data):
+        count, = struct.unpack_from('<i', data, position)
+        if count <= 0 or position + 4 + count * ROW_SIZE > len(data):
+            break
+        position += 4
+        for name, dtype in COLUMNS:
+            chunks[name].append(np.frombuffer(data, dtype=dtype, count=count, offset=position))
+            position += count * np.dtype(dtype).itemsize
+
+    return {name: np.concatenate(values) if values else np.empty(0, dtype) for (name, dtype), values in zip(COLUMNS, chunks.values())}
+
+
+results = read_sweep_results(SWEEP_RESULTS)
 
 fig = plt.figure()
 fig.canvas.set_window_title('Advance Case Graph')
 fig.suptitle("""Cost
-in function of 
+in function of
 Lift Capacity, Floor Number and Passenger Number""")
 
 ax = fig.add_subplot(111, projection='3d')
 
-x = []
-y = []
-z = []
-c = []
-
-for lift_capacity in cost_dict:
-    for floor_number in cost_dict[lift_capacity]:
-        for passenger_number in cost_dict[lift_capacity][floor_number]:
-            x.append(lift_capacity)
-            y.append(floor_number)
-            z.append(passenger_number)
-            c.append(cost_dict[lift_capacity][floor_number][passenger_number]["cost"])
-
-img = ax.scatter(x, y, z, c=c, cmap=plt.hot())
+img = ax.scatter(results['lift_capacity'], results['floor_number'], results['passenger_number'], c=results['cost'], cmap=plt.hot())
 cbar = fig.colorbar(img)
 cbar.ax.get_yaxis().labelpad = 15; cbar.ax.set_ylabel("Cost", rotation = 270);
 ax.set_xlabel('Lift Capacity')
@@ -0,0 +1,52 @@
+package com.simulation.lift.api;
+
+import com.simulation.lift.model.Lift;
+
+public interface DispatchStrategy {
+    /**
+     * Method gets the number of up moves a lift has to perform to its next stop.
+     * A hall call the lift heads for is claimed with {@link Lift#claimArriveFloor(int, Lift.LiftMode)}.
+     *
+     * @param lift                          Lift object
+     * @param floorNo                       current floor
+     * @return                              moves, -1 if there is nothing to do going up
+     */
+    int getUpMove(Lift lift, int floorNo);
+
+    /**
+     * Method gets the number of down moves a lift has to perform to its next stop.
+     * A hall call the lift heads for is claimed with {@link Lift#claimArriveFloor(int, Lift.LiftMode)}.
+     *
+     * @param lift                          Lift object
+     * @param floorNo                       current floor
+     * @return                              moves, -1 if there is nothing to do going down
+     */
+    int getDownMove(Lift lift, int floorNo);
+
+    /**
+     * Method gets the number of moves a full lift has to perform for passengers to alight.
+     *
+     * @param lift                          Lift object
+     * @param direction                     direction of the lift, UP or DOWN
+     * @param floorNo                       current floor
+     * @return                              moves, -1 if no passenger alights in that direction
+     */
+    int getUpDownMove(Lift lift, Lift.LiftMode direction, int floorNo);
+
+    /**
+     * Method selects the lift a new hall call is assigned to, the only one heading for it.
+     *
+     * @param lifts                         lifts of the building
+     * @param floorNo                       floor of the call
+     * @param direction                     direction of the call, UP or DOWN
+     * @return                              selected lift
+     */
+    Lift selectLift(Lift[] lifts, int floorNo, Lift.LiftMode direction);
+
+    /**
+     * Method gets the name of the strategy.
+     *
+     * @return                              name of the strategy
+     */
+    String getName();
+}
@@ -0,0 +1,84 @@
+package com.simulation.lift.api;
+
+import com.simulation.lift.model.Lift;
+import com.simulation.lift.model.Passenger;
+
+import java.util.List;
+
+/**
+ * Listener of the lifts identifying a lift by its index in the building and a floor by its
+ * index in the building's floors, so both are found with an array lookup.
+ * A floor's index is its floor number minus one.
+ */
+public interface IndexedLiftListener {
+    /**
+     * Method moves the lift up depending on certain number of moves.
+     *
+     * @param liftIndex                     index of the lift
+     * @param fromFloorIndex                index of the source floor
+     * @param moveTo                        number of moves
+     */
+    void upMoves(int liftIndex, int fromFloorIndex, int moveTo);
+
+    /**
+     * Method moves the lift down depending on certain number of moves.
+     *
+     * @param liftIndex                     index of the lift
+     * @param fromFloorIndex                index of the source floor
+     * @param moveTo                        number of moves
+     */
+    void downMoves(int liftIndex, int fromFloorIndex, int moveTo);
+
+    /**
+     * Method removes from the floor, in one call, the passengers going in the direction of the lift
+     * who fit its remaining weight, in their order in the queue. A passenger who does not fit
+     * keeps their place in the queue and their hall call is registered again.
+     *
+     * @param liftIndex                     index of the lift
+     * @param floorIndex                    index of the floor
+     * @param direction                     direction of the lift, UP or DOWN
+     * @param remainingWeight               remaining weight the lift can carry
+     * @param boarded                       list receiving the boarding passengers
+     * @return                              is a passenger left waiting, the lift being full
+     */
+    boolean boardPassengers(int liftIndex, int floorIndex, Lift.LiftMode direction, int remainingWeight, List<Passenger> boarded);
+
+    /**
+     * Method removes the passengers who are alighting from a lift, in one call.
+     *
+     * @param liftIndex                     index of the lift
+     * @param floorIndex                    index of the floor
+     * @param passengers                    alighting passengers
+     */
+    void alightPassengers(int liftIndex, int floorIndex, List<Passenger> passengers);
+
+    /**
+     * Method opens the door of a lift.
+     *
+     * @param liftIndex                     index of the lift
+     * @param floorIndex                    index of the floor
+     */
+    void openDoor(int liftIndex, int floorIndex);
+
+    /**
+     * Method closes the door of a lift.
+     *
+     * @param liftIndex                     index of the lift
+     * @param floorIndex                    index of the floor
+     */
+    void closeDoor(int liftIndex, int floorIndex);
+
+    /**
+     * Method starts the lift.
+     *
+     * @param liftIndex                     index of the lift
+     */
+    void started(int liftIndex);
+
+    /**
+     * Method stops the lift.
+     *
+     * @param liftIndex                     index of the lift
+     */
+    void stopped(int liftIndex);
+}
@@ -0,0 +1,16 @@
+package com.simulation.lift.api;
+
+/**
+ * Enum presenting the state changes a lift publishes on the event bus.
+ */
+public enum LiftEventType {
+    STARTED,
+    STOPPED,
+    UP_MOVES,
+    DOWN_MOVES,
+    OPEN_DOOR,
+    CLOSE_DOOR,
+    BOARD,
+    ALIGHT,
+    RETURN
+}
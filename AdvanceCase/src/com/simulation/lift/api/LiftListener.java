@@ -1,5 +1,6 @@
 package com.simulation.lift.api;
 
+import com.simulation.lift.model.Lift;
 import com.simulation.lift.model.Passenger;
 
 public interface LiftListener {
@@ -26,11 +27,12 @@ public interface LiftListener {
      *
      * @param liftName                      name of the lift
      * @param floorNo                       floor number
+     * @param direction                     direction of the lift, UP or DOWN
      * @param lastPassenger                 previous passenger
      * @param isFull                        is the lift full
      * @return                              Passenger object
      */
-    Passenger getBoardPassenger(String liftName, int floorNo, Passenger lastPassenger, boolean isFull);
+    Passenger getBoardPassenger(String liftName, int floorNo, Lift.LiftMode direction, Passenger lastPassenger, boolean isFull);
 
     /**
      * Method removes the passengers who are alighting from a lift.
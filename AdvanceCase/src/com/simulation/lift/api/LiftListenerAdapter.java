@@ -0,0 +1,106 @@
+package com.simulation.lift.api;
+
+import com.simulation.lift.model.Lift;
+import com.simulation.lift.model.Passenger;
+
+import java.util.List;
+
+/**
+ * Adapter calling a listener identifying the lifts by name from the indexed callbacks.
+ */
+public class LiftListenerAdapter implements IndexedLiftListener {
+    private final LiftListener listener;
+    private final String[] liftNames;
+    private final String liftName;
+
+    /**
+     * Constructs an instance of the object containing the listener and liftNames arguments.
+     *
+     * @param listener                      listener identifying the lifts by name
+     * @param liftNames                     names of the lifts by index
+     */
+    public LiftListenerAdapter(LiftListener listener, String[] liftNames) {
+        this.listener = listener;
+        this.liftNames = liftNames;
+        this.liftName = null;
+    }
+
+    /**
+     * Constructs an instance of the object for a single lift, containing the listener and liftName arguments.
+     *
+     * @param listener                      listener identifying the lifts by name
+     * @param liftName                      name of the lift, whatever its index
+     */
+    public LiftListenerAdapter(LiftListener listener, String liftName) {
+        this.listener = listener;
+        this.liftNames = null;
+        this.liftName = liftName;
+    }
+
+    @Override
+    public void upMoves(int liftIndex, int fromFloorIndex, int moveTo) {
+        this.listener.upMoves(liftName(liftIndex), fromFloorIndex + 1, moveTo);
+    }
+
+    @Override
+    public void downMoves(int liftIndex, int fromFloorIndex, int moveTo) {
+        this.listener.downMoves(liftName(liftIndex), fromFloorIndex + 1, moveTo);
+    }
+
+    /**
+     * Method boards the passengers one by one through the named listener, handing back
+     * the first passenger who does not fit, as the named listener expects.
+     */
+    @Override
+    public boolean boardPassengers(int liftIndex, int floorIndex, Lift.LiftMode direction, int remainingWeight, List<Passenger> boarded) {
+        String liftName = liftName(liftIndex);
+        Passenger passenger = this.listener.getBoardPassenger(liftName, floorIndex + 1, direction, null, false);
+        while (passenger != null) {
+            if (passenger.getWeight() > remainingWeight) {
+                this.listener.getBoardPassenger(liftName, floorIndex + 1, direction, passenger, true);
+                return true;
+            }
+            boarded.add(passenger);
+            remainingWeight -= passenger.getWeight();
+            passenger = this.listener.getBoardPassenger(liftName, floorIndex + 1, direction, passenger, false);
+        }
+        return false;
+    }
+
+    @Override
+    public void alightPassengers(int liftIndex, int floorIndex, List<Passenger> passengers) {
+        for (Passenger passenger : passengers) {
+            this.listener.alightPassenger(liftName(liftIndex), floorIndex + 1, passenger);
+        }
+    }
+
+    @Override
+    public void openDoor(int liftIndex, int floorIndex) {
+        this.listener.openDoor(liftName(liftIndex), floorIndex + 1);
+    }
+
+    @Override
+    public void closeDoor(int liftIndex, int floorIndex) {
+        this.listener.closeDoor(liftName(liftIndex), floorIndex + 1);
+    }
+
+    @Override
+    public void started(int liftIndex) {
+        this.listener.started(liftName(liftIndex));
+    }
+
+    @Override
+    public void stopped(int liftIndex) {
+        this.listener.stopped(liftName(liftIndex));
+    }
+
+    /**
+     * Method gets the name of a lift.
+     *
+     * @param liftIndex                     index of the lift
+     * @return                              name of the lift
+     */
+    private String liftName(int liftIndex) {
+        return this.liftNames != null ? this.liftNames[liftIndex] : this.liftName;
+    }
+}
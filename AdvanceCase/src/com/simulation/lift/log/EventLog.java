@@ -0,0 +1,273 @@
+package com.simulation.lift.log;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Binary log of the lift events, written to a file by a background thread.
+ *
+ * A record is written into a preallocated ring without allocating or locking, and the writer
+ * thread copies the records to the file in batches. Records are dropped, and counted,
+ * when the ring is full, so the lifts are never slowed down by the disk.
+ * Nothing is done below the level of the log, which is OFF until a log is opened.
+ *
+ * The file starts with a magic number, a version and the record size, followed by
+ * little-endian records: sequence, time (long), event ordinal, lift index, floor number and value (int).
+ *
+ * The log is opened at startup when the lift.log system property names a file,
+ * at the level given by the lift.log.level property, INFO by default.
+ */
+public final class EventLog {
+    /**
+     * System property naming the file of the log.
+     */
+    public static final String FILE_PROPERTY = "lift.log";
+
+    /**
+     * System property choosing the level of the log.
+     */
+    public static final String LEVEL_PROPERTY = "lift.log.level";
+
+    private static final int MAGIC = 0x4C4C4F47;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 3 * Integer.BYTES;
+    private static final int RECORD_SIZE = 2 * Long.BYTES + 4 * Integer.BYTES;
+
+    private static final int CAPACITY = 1 << 14;
+    private static final int SLOT_SIZE = 4;
+    private static final int BATCH_RECORDS = 1024;
+    private static final long IDLE_NANOS = 1_000_000;
+
+    private static final AtomicLong droppedRecords = new AtomicLong();
+    private static volatile LogLevel level = LogLevel.OFF;
+    private static volatile EventLog current;
+
+    static {
+        String file = System.getProperty(FILE_PROPERTY);
+        if (file != null) {
+            try {
+                open(Paths.get(file), LogLevel.valueOf(System.getProperty(LEVEL_PROPERTY, "INFO").toUpperCase(Locale.ROOT)));
+                Runtime.getRuntime().addShutdownHook(new Thread(EventLog::close));
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("The event log " + file + " cannot be opened: " + e.getMessage());
+            }
+        }
+    }
+
+    private final FileChannel channel;
+    //each slot holds the time, the event and lift, the floor and value, then its sequence plus one once written.
+    private final AtomicLongArray slots;
+    private final AtomicLong claimed;
+    private final AtomicLong written;
+    private final ByteBuffer batch;
+    private final Thread writer;
+    private volatile boolean isRunning;
+
+    private EventLog(FileChannel channel) {
+        this.channel = channel;
+        this.slots = new AtomicLongArray(CAPACITY * SLOT_SIZE);
+        this.claimed = new AtomicLong();
+        this.written = new AtomicLong();
+        this.batch = ByteBuffer.allocateDirect(BATCH_RECORDS * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        this.isRunning = true;
+        this.writer = new Thread(this::write, "lift-event-log");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * Method opens the log, replacing the file, and closes the log opened before, if any.
+     *
+     * @param path                      path of the file
+     * @param logLevel                  level of the log
+     * @throws IOException              if the file cannot be opened
+     */
+    public static synchronized void open(Path path, LogLevel logLevel) throws IOException {
+        close();
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(RECORD_SIZE).flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+
+        EventLog log = new EventLog(channel);
+        log.writer.start();
+        current = log;
+        level = logLevel;
+    }
+
+    /**
+     * Method closes the log once the writer has written the pending records.
+     */
+    public static synchronized void close() {
+        EventLog log = current;
+        if (log == null) {
+            return;
+        }
+        level = LogLevel.OFF;
+        current = null;
+
+        log.isRunning = false;
+        LockSupport.unpark(log.writer);
+        try {
+            log.writer.join();
+            log.channel.force(false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            System.err.println("The event log cannot be written: " + e.getMessage());
+        } finally {
+            try {
+                log.channel.close();
+            } catch (IOException e) {
+                System.err.println("The event log cannot be closed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Method checks whether the records of a level are written.
+     *
+     * @param logLevel                  level of the records
+     * @return                          is the level enabled
+     */
+    public static boolean isEnabled(LogLevel logLevel) {
+        return logLevel != LogLevel.OFF && logLevel.compareTo(level) <= 0;
+    }
+
+    /**
+     * Method gets the number of records dropped because the writer fell behind.
+     *
+     * @return                          dropped records
+     */
+    public static long getDroppedRecords() {
+        return droppedRecords.get();
+    }
+
+    /**
+     * Method prints the records of a log file as text, one record per line, through a memory-mapped buffer.
+     *
+     * @param path                      path of the file
+     * @param out                       stream receiving the lines
+     * @throws IOException              if the file cannot be read or is not a log file
+     */
+    public static void dump(Path path, PrintStream out) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != VERSION
+                    || buffer.getInt(2 * Integer.BYTES) != RECORD_SIZE) {
+                throw new IOException("Not an event log: " + path);
+            }
+
+            LogEvent[] events = LogEvent.values();
+            StringBuilder line = new StringBuilder();
+            for (int position = HEADER_SIZE; position + RECORD_SIZE <= buffer.limit(); position += RECORD_SIZE) {
+                line.setLength(0);
+                line.append(buffer.getLong(position)).append(' ')
+                        .append(buffer.getLong(position + Long.BYTES)).append(' ')
+                        .append(events[buffer.getInt(position + 2 * Long.BYTES)])
+                        .append(" lift=").append(buffer.getInt(position + 2 * Long.BYTES + Integer.BYTES))
+                        .append(" floor=").append(buffer.getInt(position + 2 * Long.BYTES + 2 * Integer.BYTES))
+                        .append(" value=").append(buffer.getInt(position + 2 * Long.BYTES + 3 * Integer.BYTES));
+                out.println(line);
+            }
+        }
+    }
+
+    /**
+     * Method writes a record if its level is enabled.
+     *
+     * @param event                     event of the record
+     * @param time                      time of the event in milliseconds
+     * @param lift                      index of the lift, -1 for none
+     * @param floorNo                   floor number
+     * @param value                     value of the event, see {@link LogEvent}
+     */
+    public static void log(LogEvent event, long time, int lift, int floorNo, int value) {
+        if (event.getLevel().compareTo(level) > 0) {
+            return;
+        }
+        EventLog log = current;
+        if (log != null) {
+            log.append(event, time, lift, floorNo, value);
+        }
+    }
+
+    /**
+     * Method claims a slot of the ring and fills it, or drops the record when the ring is full.
+     */
+    private void append(LogEvent event, long time, int lift, int floorNo, int value) {
+        long sequence;
+        do {
+            sequence = this.claimed.get();
+            if (sequence - this.written.get() >= CAPACITY) {
+                droppedRecords.incrementAndGet();
+                return;
+            }
+        } while (!this.claimed.compareAndSet(sequence, sequence + 1));
+
+        int slot = ((int) sequence & (CAPACITY - 1)) * SLOT_SIZE;
+        this.slots.setPlain(slot, time);
+        this.slots.setPlain(slot + 1, ((long) event.ordinal() << 32) | (lift & 0xFFFFFFFFL));
+        this.slots.setPlain(slot + 2, ((long) floorNo << 32) | (value & 0xFFFFFFFFL));
+        this.slots.setRelease(slot + 3, sequence + 1);
+    }
+
+    /**
+     * Method runs the writer thread, copying the records of the ring to the file in batches
+     * until the log is closed and every claimed record is written.
+     */
+    private void write() {
+        long sequence = this.written.get();
+        try {
+            while (true) {
+                boolean isStopping = !this.isRunning;
+                this.batch.clear();
+                while (this.batch.hasRemaining() && sequence < this.claimed.get()) {
+                    int slot = ((int) sequence & (CAPACITY - 1)) * SLOT_SIZE;
+                    if (this.slots.getAcquire(slot + 3) != sequence + 1) {
+                        //the record is claimed but its thread has not filled it yet.
+                        break;
+                    }
+                    long eventAndLift = this.slots.getPlain(slot + 1);
+                    long floorAndValue = this.slots.getPlain(slot + 2);
+                    this.batch.putLong(sequence)
+                            .putLong(this.slots.getPlain(slot))
+                            .putInt((int) (eventAndLift >>> 32))
+                            .putInt((int) eventAndLift)
+                            .putInt((int) (floorAndValue >>> 32))
+                            .putInt((int) floorAndValue);
+                    sequence++;
+                }
+                this.written.set(sequence);
+
+                if (this.batch.position() > 0) {
+                    this.batch.flip();
+                    while (this.batch.hasRemaining()) {
+                        this.channel.write(this.batch);
+                    }
+                } else if (isStopping && sequence == this.claimed.get()) {
+                    return;
+                } else {
+                    LockSupport.parkNanos(IDLE_NANOS);
+                }
+            }
+        } catch (IOException e) {
+            level = LogLevel.OFF;
+            System.err.println("The event log cannot be written: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.simulation.lift.log;
+
+/**
+ * Enum presenting the records of the event log with their level.
+ * The meaning of the floor and value fields of a record depends on its event.
+ */
+public enum LogEvent {
+    /** A lift started, the floor is its current floor. */
+    STARTED(LogLevel.INFO),
+    /** A lift stopped, the floor is its current floor. */
+    STOPPED(LogLevel.INFO),
+    /** A lift moves up, the value is the number of moves. */
+    UP_MOVES(LogLevel.DEBUG),
+    /** A lift moves down, the value is the number of moves. */
+    DOWN_MOVES(LogLevel.DEBUG),
+    /** A lift opens its door. */
+    OPEN_DOOR(LogLevel.DEBUG),
+    /** A lift closes its door. */
+    CLOSE_DOOR(LogLevel.DEBUG),
+    /** Passengers board a lift, the value is their number. */
+    BOARD(LogLevel.DEBUG),
+    /** Passengers alight from a lift, the value is their number. */
+    ALIGHT(LogLevel.DEBUG),
+    /** A lift leaves passengers waiting who do not fit, the value is its remaining weight. */
+    FULL(LogLevel.DEBUG),
+    /** A lift runs an iteration of its control loop, the value is the ordinal of its mode. */
+    LIFT_MODE(LogLevel.TRACE),
+    /** A passenger arrives, the lift is -1 and the value is the destination floor. */
+    PASSENGER(LogLevel.TRACE);
+
+    private final LogLevel level;
+
+    LogEvent(LogLevel level) {
+        this.level = level;
+    }
+
+    /**
+     * Method gets the level at which the event is written.
+     *
+     * @return                      LogLevel object
+     */
+    public LogLevel getLevel() {
+        return level;
+    }
+}
@@ -0,0 +1,12 @@
+package com.simulation.lift.log;
+
+/**
+ * Enum presenting the levels of the event log, from the least to the most detailed.
+ * A record is written when its level is at most the level of the log.
+ */
+public enum LogLevel {
+    OFF,
+    INFO,
+    DEBUG,
+    TRACE
+}
@@ -0,0 +1,245 @@
+package com.simulation.lift.main;
+
+import com.simulation.lift.api.DispatchStrategy;
+import com.simulation.lift.log.EventLog;
+import com.simulation.lift.log.LogLevel;
+import com.simulation.lift.model.Building;
+import com.simulation.lift.model.LatencyHistogram;
+import com.simulation.lift.model.MetricsRegistry;
+import com.simulation.lift.model.TraceRecorder;
+import com.simulation.lift.strategy.LookStrategy;
+import com.simulation.lift.strategy.NearestCarStrategy;
+import com.simulation.lift.strategy.ScanStrategy;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+public class HeadlessMain {
+    private static final String USAGE = "Usage: HeadlessMain [--config file] [--floors n] [--lifts n] [--capacity n] [--passengers n]"
+            + " [--auto] [--duration ms] [--seed n] [--strategy look|scan|nearest] [--skip n]"
+            + " [--log file] [--log-level info|debug|trace] [--trace file]";
+
+    /**
+     * Runs a building on the discrete-event engine without loading AWT or Swing, and prints
+     * its results as key=value lines. The settings are read from a properties file given
+     * with --config, then overridden by the command line arguments.
+     *
+     * @param args                          command line arguments
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        Properties config;
+        try {
+            config = parseArguments(args);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+
+        int floors = Integer.parseInt(config.getProperty("floors", "60"));
+        int lifts = Integer.parseInt(config.getProperty("lifts", String.valueOf(Math.max(floors / 3, 1))));
+        int capacity = Integer.parseInt(config.getProperty("capacity", "1000"));
+        int passengers = Integer.parseInt(config.getProperty("passengers", "500"));
+        boolean isAuto = Boolean.parseBoolean(config.getProperty("auto", "false"));
+        long duration = Long.parseLong(config.getProperty("duration", "600000"));
+        long seed = Long.parseLong(config.getProperty("seed", String.valueOf(System.nanoTime())));
+        DispatchStrategy strategy = findStrategy(config.getProperty("strategy", "look"));
+        int skipLimit = Integer.parseInt(config.getProperty("skip", String.valueOf(Building.DEFAULT_SKIP_LIMIT)));
+
+        if (floors < 3 || lifts < 1 || capacity < 50 || passengers < 1 || skipLimit < 0) {
+            System.err.println("floors must be at least 3, lifts at least 1, capacity at least 50, passengers at least 1 and skip at least 0.");
+            System.exit(2);
+        }
+
+        String logFile = config.getProperty("log");
+        if (logFile != null) {
+            try {
+                EventLog.open(Paths.get(logFile), findLogLevel(config.getProperty("log-level", "info")));
+            } catch (IOException e) {
+                System.err.println("The event log " + logFile + " cannot be opened: " + e.getMessage());
+                System.exit(2);
+            }
+        }
+
+        String traceFile = config.getProperty("trace");
+        TraceRecorder traceRecorder = null;
+        if (traceFile != null) {
+            try {
+                traceRecorder = new TraceRecorder(Paths.get(traceFile), floors, lifts, capacity);
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("The trace " + traceFile + " cannot be opened: " + e.getMessage());
+                System.exit(2);
+            }
+        }
+
+        long startTime = System.nanoTime();
+        long cpuTime = ManagementFactory.getThreadMXBean().getCurrentThreadCpuTime();
+        Building building = new Building(floors, Math.max(620 / floors, 1), 1, lifts, 1, 1, capacity, passengers, isAuto, strategy, seed);
+        building.setAutoDuration(duration);
+        building.setSkipLimit(skipLimit);
+        building.setTraceRecorder(traceRecorder);
+        building.run();
+        cpuTime = ManagementFactory.getThreadMXBean().getCurrentThreadCpuTime() - cpuTime;
+        long wallTime = System.nanoTime() - startTime;
+        EventLog.close();
+        if (traceRecorder != null) {
+            try {
+                traceRecorder.close();
+            } catch (IOException e) {
+                System.err.println("The trace " + traceFile + " cannot be written: " + e.getMessage());
+                System.exit(1);
+            }
+        }
+
+        StringBuilder output = new StringBuilder();
+        output.append("floors=").append(floors).append('\n');
+        output.append("lifts=").append(lifts).append('\n');
+        output.append("capacity=").append(capacity).append('\n');
+        output.append("passengers=").append(passengers).append('\n');
+        output.append("auto=").append(isAuto).append('\n');
+        output.append("duration=").append(duration).append('\n');
+        output.append("seed=").append(seed).append('\n');
+        output.append("strategy=").append(strategy.getName()).append('\n');
+        output.append("skip=").append(skipLimit).append('\n');
+        MetricsRegistry.Snapshot metrics = building.getMetrics().snapshot();
+        output.append("cost=").append(metrics.getCost()).append('\n');
+        output.append("totalMoves=").append(metrics.getTotalMoves()).append('\n');
+        output.append("totalBoardPassengers=").append(metrics.getTotalBoardPassengers()).append('\n');
+        output.append("totalAlightPassengers=").append(metrics.getTotalAlightPassengers()).append('\n');
+        appendTimes(output, "wait", building.getWaitTimes());
+        appendTimes(output, "ride", building.getRideTimes());
+        appendTimes(output, "journey", building.getJourneyTimes());
+        output.append("simulationTimeMs=").append(building.getEngine().getTime()).append('\n');
+        output.append("processedEvents=").append(building.getEngine().getProcessedEvents()).append('\n');
+        output.append("wallTimeMs=").append(String.format("%.3f", wallTime / 1e6)).append('\n');
+        output.append("cpuTimeMs=").append(String.format("%.3f", cpuTime / 1e6)).append('\n');
+        if (logFile != null) {
+            output.append("log=").append(logFile).append('\n');
+            output.append("logDroppedRecords=").append(EventLog.getDroppedRecords()).append('\n');
+        }
+        if (traceRecorder != null) {
+            output.append("trace=").append(traceFile).append('\n');
+            output.append("traceRecords=").append(traceRecorder.getRecordCount()).append('\n');
+        }
+        output.append("uptimeMs=").append(ManagementFactory.getRuntimeMXBean().getUptime()).append('\n');
+        System.out.print(output);
+    }
+
+    /**
+     * Method appends the percentiles and maximum of passenger times to the output.
+     *
+     * @param output                        output of the run
+     * @param name                          name of the times
+     * @param times                         LatencyHistogram object
+     */
+    private static void appendTimes(StringBuilder output, String name, LatencyHistogram times) {
+        output.append(name).append("P50Ms=").append(times.getValueAtPercentile(50)).append('\n');
+        output.append(name).append("P90Ms=").append(times.getValueAtPercentile(90)).append('\n');
+        output.append(name).append("P99Ms=").append(times.getValueAtPercentile(99)).append('\n');
+        output.append(name).append("MaxMs=").append(times.getMax()).append('\n');
+    }
+
+    /**
+     * Method reads the settings from the config file, if any, and the command line arguments.
+     *
+     * @param args                          command line arguments
+     * @return                              settings
+     * @throws IOException                  if the config file cannot be read
+     */
+    private static Properties parseArguments(String[] args) throws IOException {
+        Properties config = new Properties();
+        Properties overrides = new Properties();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+            String key = args[i].substring(2);
+            if (key.equals("auto")) {
+                overrides.setProperty(key, "true");
+                continue;
+            }
+            if (i + 1 == args.length) {
+                throw new IllegalArgumentException("Missing value of " + args[i]);
+            }
+            String value = args[++i];
+            if (key.equals("config")) {
+                try (Reader reader = Files.newBufferedReader(Paths.get(value), StandardCharsets.UTF_8)) {
+                    config.load(reader);
+                }
+            } else {
+                overrides.setProperty(key, value);
+            }
+        }
+
+        config.putAll(overrides);
+        for (String key : new String[] {"floors", "lifts", "capacity", "passengers", "skip"}) {
+            String value = config.getProperty(key);
+            if (value != null) {
+                try {
+                    Integer.parseInt(value);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException(key + " must be a number up to " + Integer.MAX_VALUE + ".");
+                }
+            }
+        }
+        for (String key : new String[] {"duration", "seed"}) {
+            String value = config.getProperty(key);
+            if (value != null) {
+                try {
+                    Long.parseLong(value);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException(key + " must be a number.");
+                }
+            }
+        }
+        findStrategy(config.getProperty("strategy", "look"));
+        findLogLevel(config.getProperty("log-level", "info"));
+        return config;
+    }
+
+    /**
+     * Method finds the dispatch strategy by its short name.
+     *
+     * @param name                          look, scan or nearest
+     * @return                              DispatchStrategy object
+     */
+    private static DispatchStrategy findStrategy(String name) {
+        switch (name) {
+            case "scan":
+                return new ScanStrategy();
+            case "nearest":
+                return new NearestCarStrategy();
+            case "look":
+                return new LookStrategy();
+            default:
+                throw new IllegalArgumentException("Unknown strategy: " + name);
+        }
+    }
+
+    /**
+     * Method finds the level of the event log by its name.
+     *
+     * @param name                          info, debug or trace
+     * @return                              LogLevel object
+     */
+    private static LogLevel findLogLevel(String name) {
+        switch (name) {
+            case "info":
+                return LogLevel.INFO;
+            case "debug":
+                return LogLevel.DEBUG;
+            case "trace":
+                return LogLevel.TRACE;
+            default:
+                throw new IllegalArgumentException("Unknown log level: " + name);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.simulation.lift.main;
+
+import com.simulation.lift.log.EventLog;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+public class LogDump {
+    /**
+     * Prints the records of an event log file as text, one record per line:
+     * sequence, time, event, lift index, floor number and value.
+     *
+     * @param args                          path of the log file
+     */
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            System.err.println("Usage: LogDump file");
+            System.exit(2);
+        }
+        try {
+            EventLog.dump(Paths.get(args[0]), System.out);
+        } catch (IOException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+}
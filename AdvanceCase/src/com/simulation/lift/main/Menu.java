@@ -1,14 +1,20 @@
 package com.simulation.lift.main;
 
-import com.simulation.lift.model.Building;
+import com.simulation.lift.model.Trace;
 import com.simulation.lift.panel.SimulationPanel;
+import com.simulation.lift.sweep.SweepEngine;
+import com.simulation.lift.sweep.SweepStore;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.io.*;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Hashtable;
+import java.util.Set;
+import java.util.SplittableRandom;
 
 import static javax.swing.JOptionPane.showMessageDialog;
 
@@ -128,85 +134,88 @@ public class Menu extends JPanel {
         });
         panel6.add(isGraph);
 
+        JPanel panel8 = new JPanel();
+        panel8.setBounds(40, 155, 150, 30);
+        add(panel8);
+
+        JTextField seed = new JTextField(11);
+        seed.setToolTipText("Seed of the passengers, random when empty.");
+        panel8.add(seed);
+
 
         JButton submitButton = new JButton("Submit");
         submitButton.addActionListener(e -> {
             if (isGraph.isSelected()) {
-                try{
-//                    String prg = "cost_dict = {}\n" +
-//                            "\n" +
-//                            "def get_value_by_key(obj: dict, key: str):\n" +
-//                            "    try:\n" +
-//                            "        return obj[key]\n" +
-//                            "    except:\n" +
-//                            "        return None\n" +
-//                            "\n" +
-//                            "def update_dict(lift_capacity, floor_number, passenger_number, cost):\n" +
-//                            "\n" +
-//                            "    lift_capacity_obj = get_value_by_key(cost_dict, lift_capacity)\n" +
-//                            "    if not lift_capacity_obj:\n" +
-//                            "        lift_capacity_obj = {lift_capacity: {}}\n" +
-//                            "        cost_dict.update(lift_capacity_obj)\n" +
-//                            "        lift_capacity_obj = cost_dict[lift_capacity]\n" +
-//                            "\n" +
-//                            "    floor_number_obj = get_value_by_key(lift_capacity_obj, floor_number)\n" +
-//                            "    if not floor_number_obj:\n" +
-//                            "        floor_number_obj = {floor_number: {}}\n" +
-//                            "        lift_capacity_obj.update(floor_number_obj)\n" +
-//                            "        floor_number_obj = lift_capacity_obj[floor_number]\n" +
-//                            "\n" +
-//                            "    passenger_number_obj = get_value_by_key(floor_number_obj, passenger_number)\n" +
-//                            "    if not passenger_number_obj:\n" +
-//                            "        passenger_number_obj = {passenger_number: {\"cost\": cost}}\n" +
-//                            "        floor_number_obj.update(passenger_number_obj)\n";
-//
-//                    for(int weightCounter = 500; weightCounter <= 3000; weightCounter+=250) {
-//                        for(int floorCounter = 5; floorCounter <= 300; floorCounter+=5) {
-//                            for(int passengerCounter = 5; passengerCounter <= 1000; passengerCounter+=5) {
-//                                Building building = new Building(floorCounter, 620 / floorCounter, 1, floorCounter / 3, 1,1, weightCounter, passengerCounter, false);
-//                                building.start().get();
-//
-//                                prg = prg + "\n" +
-//                                        "update_dict(" + weightCounter + ", " + floorCounter + ", " + passengerCounter + ", " + building.calculateCost() + ")\n";
-//                            }
-//                        }
-//                    }
-//
-//                    prg = prg + "\nprint(cost_dict)\n";
-//
-//                    System.out.println(prg);
-//
-//                    BufferedWriter out = new BufferedWriter(new FileWriter("src/com/simulation/lift/api/CostDict.py"));
-//                    out.write(prg);
-//                    out.close();
-
-                    Process p = Runtime.getRuntime().exec("python3 src/GraphPanel.py");
-                    BufferedReader in = new BufferedReader(new InputStreamReader(p.getInputStream()));
-                    String ret = in.readLine();
-                    System.out.println("value is : "+ret);
-                }catch(Exception a){
-                    a.printStackTrace();
+                //the sweep takes minutes, so it runs away from the event dispatch thread.
+                Thread graphThread = new Thread(() -> {
+                    try{
+                        //resumes the sweep from the results already stored.
+                        Path sweepResults = Paths.get("src/com/simulation/lift/api/SweepResults.bin");
+                        SweepEngine sweep = new SweepEngine(SweepEngine.range(500, 3000, 250), SweepEngine.range(5, 300, 5), SweepEngine.range(5, 1000, 5));
+                        Set<Long> completedPoints = SweepStore.readKeys(sweepResults, sweep.getSeed());
+                        if (completedPoints.size() < sweep.size()) {
+                            try (SweepStore store = new SweepStore(sweepResults, sweep.getSeed())) {
+                                sweep.run(store, completedPoints);
+                            }
+                        }
+
+                        Process p = Runtime.getRuntime().exec("python3 src/GraphPanel.py");
+                        BufferedReader in = new BufferedReader(new InputStreamReader(p.getInputStream()));
+                        String ret = in.readLine();
+                        System.out.println("value is : "+ret);
+                    }catch(Exception a){
+                        a.printStackTrace();
+                    }
+                });
+                graphThread.setDaemon(true);
+                graphThread.setName("Graph");
+                graphThread.start();
+            } else if (checkValidity(floorNo, 3, 600) && checkSeed(seed)) {
+                if (seed.getText().trim().isEmpty()) {
+                    seed.setText(String.valueOf(new SplittableRandom().nextLong()));
                 }
-            } else if (checkValidity(floorNo, 3, 600)) {
                 if(isAuto.isSelected()) {
                     if (passengerVolume.getValue() >= 0 && passengerVolume.getValue() <= 33) {
-                        startLiftSimulation(Integer.parseInt(floorNo.getText()), Integer.parseInt((String) liftWeight.getSelectedItem()), Integer.parseInt(floorNo.getText()) / 2, Integer.parseInt(floorNo.getText()) / 3, true);
+                        startLiftSimulation(Integer.parseInt(floorNo.getText()), Integer.parseInt((String) liftWeight.getSelectedItem()), Integer.parseInt(floorNo.getText()) / 2, Integer.parseInt(floorNo.getText()) / 3, true, Long.parseLong(seed.getText().trim()));
                     }
                     if (passengerVolume.getValue() > 33 && passengerVolume.getValue() < 67) {
-                        startLiftSimulation(Integer.parseInt(floorNo.getText()), Integer.parseInt((String) liftWeight.getSelectedItem()), Integer.parseInt(floorNo.getText()), Integer.parseInt(floorNo.getText()) / 3, true);
+                        startLiftSimulation(Integer.parseInt(floorNo.getText()), Integer.parseInt((String) liftWeight.getSelectedItem()), Integer.parseInt(floorNo.getText()), Integer.parseInt(floorNo.getText()) / 3, true, Long.parseLong(seed.getText().trim()));
                     }
                     if (passengerVolume.getValue() >= 67 && passengerVolume.getValue() <= 100) {
-                        startLiftSimulation(Integer.parseInt(floorNo.getText()), Integer.parseInt((String) liftWeight.getSelectedItem()), Integer.parseInt(floorNo.getText()) * 2, Integer.parseInt(floorNo.getText()) / 3, true);
+                        startLiftSimulation(Integer.parseInt(floorNo.getText()), Integer.parseInt((String) liftWeight.getSelectedItem()), Integer.parseInt(floorNo.getText()) * 2, Integer.parseInt(floorNo.getText()) / 3, true, Long.parseLong(seed.getText().trim()));
                     }
                 }
                 else {
                     if(checkValidity(passengerNo, 1, Integer.MAX_VALUE)) {
-                        startLiftSimulation(Integer.parseInt(floorNo.getText()), Integer.parseInt((String) liftWeight.getSelectedItem()), Integer.parseInt(passengerNo.getText()), Integer.parseInt(floorNo.getText()) / 3, false);
+                        startLiftSimulation(Integer.parseInt(floorNo.getText()), Integer.parseInt((String) liftWeight.getSelectedItem()), Integer.parseInt(passengerNo.getText()), Integer.parseInt(floorNo.getText()) / 3, false, Long.parseLong(seed.getText().trim()));
                     }
                 }
             }
         });
         panel4.add(submitButton);
+
+        JPanel panel7 = new JPanel();
+        panel7.setBounds(290, 155, 90, 30);
+        add(panel7);
+
+        JButton replayButton = new JButton("Replay");
+        replayButton.addActionListener(e -> {
+            JFileChooser chooser = new JFileChooser(".");
+            if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+                return;
+            }
+            try {
+                Trace trace = Trace.open(chooser.getSelectedFile().toPath());
+                if (trace.getMaxFloor() < 3 || trace.getMaxFloor() > 600 || trace.getMaxLift() > trace.getMaxFloor()) {
+                    showMessageDialog(null, "The trace is too large to be drawn, it has " + trace.getMaxFloor() + " floors and " + trace.getMaxLift() + " lifts.", "Error", 0);
+                    return;
+                }
+                showSimulation(new SimulationPanel(trace), "Lift Simulator - " + chooser.getSelectedFile().getName());
+            } catch (IOException | IllegalArgumentException a) {
+                showMessageDialog(null, "The trace cannot be read: " + a.getMessage(), "Error", 0);
+            }
+        });
+        panel7.add(replayButton);
     }
 
     /**
@@ -222,6 +231,7 @@ public class Menu extends JPanel {
         initializeLabel(5, 80, 150, "Volume of Passengers:");
         initializeLabel(5, 130, 105, "Max Lift Weight:");
         initializeLabel(275, 5, 85, "Draw Graph:");
+        initializeLabel(5, 160, 40, "Seed:");
 
         initializeInput();
     }
@@ -248,6 +258,25 @@ public class Menu extends JPanel {
         return true;
     }
 
+    /**
+     * Method validate the seed entered in the Menu, which may be left empty.
+     *
+     * @param input                         user input
+     * @return                              is the user input valid
+     */
+    private boolean checkSeed(JTextField input) {
+        if (input.getText().trim().isEmpty()) {
+            return true;
+        }
+        try {
+            Long.parseLong(input.getText().trim());
+        } catch (NumberFormatException e) {
+            showMessageDialog(null, "The seed must be a number.", "Error", 0);
+            return false;
+        }
+        return true;
+    }
+
     /**
      * Method to start the simulation.
      *
@@ -255,12 +284,22 @@ public class Menu extends JPanel {
      * @param liftWeight                    lift weight capacity
      * @param passengerVolume               volume of incoming passenger at each refreshing rate
      * @param isAuto                        is the program auto
+     * @param seed                          seed of the passengers' generator
+     */
+    private void startLiftSimulation(int maxBuildingFloor, int liftWeight, int passengerVolume, int liftNo, boolean isAuto, long seed) {
+        showSimulation(new SimulationPanel(maxBuildingFloor, liftWeight, passengerVolume, liftNo, isAuto, seed), "Lift Simulator - Seed " + seed);
+    }
+
+    /**
+     * Method shows a simulation in its own window, stopped once the window is closed.
+     *
+     * @param simulationPanel               SimulationPanel object
+     * @param title                         title of the window
      */
-    private void startLiftSimulation(int maxBuildingFloor, int liftWeight, int passengerVolume, int liftNo, boolean isAuto) {
+    private void showSimulation(SimulationPanel simulationPanel, String title) {
         JFrame jf = new JFrame();
-        SimulationPanel simulationPanel = new SimulationPanel(maxBuildingFloor, liftWeight, passengerVolume, liftNo, isAuto);
         jf.add(simulationPanel);
-        jf.setTitle("Lift Simulator");
+        jf.setTitle(title);
         jf.pack();
         jf.setLocation(250,75);
         jf.setVisible(true);
@@ -0,0 +1,72 @@
+package com.simulation.lift.main;
+
+import com.simulation.lift.api.DispatchStrategy;
+import com.simulation.lift.model.Building;
+import com.simulation.lift.model.LatencyHistogram;
+import com.simulation.lift.model.MetricsRegistry;
+import com.simulation.lift.strategy.LookStrategy;
+import com.simulation.lift.strategy.NearestCarStrategy;
+import com.simulation.lift.strategy.ScanStrategy;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+public class StrategyComparison {
+
+    /**
+     * Runs every dispatch strategy on the same seeded passengers and prints their results side by side.
+     * The passengers arrive over time as in the auto mode, since passengers all waiting from the start
+     * are claimed by whichever lift passes first, whatever the strategy dispatching them.
+     * The arguments are the floor number, lift capacity, passenger volume, seed and duration, all optional.
+     *
+     * @param args                          command line arguments
+     */
+    public static void main(String[] args) {
+        int maxFloor = args.length > 0 ? Integer.parseInt(args[0]) : 60;
+        int liftWeight = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int passengerVolume = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42;
+        long duration = args.length > 4 ? Long.parseLong(args[4]) : 12 * Building.AUTO_PASSENGER_PERIOD;
+
+        DispatchStrategy[] strategies = {new LookStrategy(), new ScanStrategy(), new NearestCarStrategy()};
+
+        //a first pass warms the JIT up, so the first strategy is not charged for the compilation.
+        for (DispatchStrategy strategy : strategies) {
+            compare(strategy, maxFloor, liftWeight, passengerVolume, seed, duration);
+        }
+
+        System.out.println(String.format("Floors: %d, Lift Capacity: %d, Passenger Volume: %d, Seed: %d, Duration: %d ms",
+                maxFloor, liftWeight, passengerVolume, seed, duration));
+        System.out.println(String.format("%-14s %8s %8s %10s %10s %10s %10s", "Strategy", "Cost", "Moves", "Wait p50", "Wait p90", "Wait p99", "CPU ms"));
+        for (DispatchStrategy strategy : strategies) {
+            System.out.println(compare(strategy, maxFloor, liftWeight, passengerVolume, seed, duration));
+        }
+    }
+
+    /**
+     * Method runs a strategy on a headless building and formats a row of the comparison.
+     *
+     * @param strategy                      strategy moving and dispatching the lifts
+     * @param maxFloor                      maximum floor number
+     * @param liftWeight                    lift capacity
+     * @param passengerVolume               maximum number of passengers arriving together
+     * @param seed                          seed of the passengers' generator
+     * @param duration                      simulated time during which passengers arrive, in milliseconds
+     * @return                              row of the comparison
+     */
+    private static String compare(DispatchStrategy strategy, int maxFloor, int liftWeight, int passengerVolume, long seed, long duration) {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        Building building = new Building(maxFloor, 620 / maxFloor, 1, Math.max(maxFloor / 3, 1), 1, 1, liftWeight, passengerVolume, true, strategy, seed);
+        building.setAutoDuration(duration);
+
+        long startTime = threadMXBean.getCurrentThreadCpuTime();
+        building.run();
+        long cpuTime = threadMXBean.getCurrentThreadCpuTime() - startTime;
+
+        MetricsRegistry.Snapshot metrics = building.getMetrics().snapshot();
+        LatencyHistogram waitTimes = building.getWaitTimes();
+        return String.format("%-14s %8.2f %8d %10d %10d %10d %10.1f", strategy.getName(),
+                metrics.getCost(), metrics.getTotalMoves(),
+                waitTimes.getValueAtPercentile(50), waitTimes.getValueAtPercentile(90), waitTimes.getValueAtPercentile(99), cpuTime / 1e6);
+    }
+}
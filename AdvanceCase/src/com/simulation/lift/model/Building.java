@@ -1,14 +1,34 @@
 package com.simulation.lift.model;
 
-import com.simulation.lift.api.LiftListener;
+import com.simulation.lift.api.DispatchStrategy;
+import com.simulation.lift.api.IndexedLiftListener;
+import com.simulation.lift.log.EventLog;
+import com.simulation.lift.log.LogEvent;
+import com.simulation.lift.strategy.LookStrategy;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
-public class Building implements LiftListener {
+public class Building implements IndexedLiftListener {
+    /**
+     * Simulated time between the arrivals of passengers in the auto mode, in milliseconds,
+     * shared by the back-end and front-end runs: 5 seconds at the front-end's default speed.
+     */
+    public static final long AUTO_PASSENGER_PERIOD = 5000 * Lift.FRONT_END_SPEED;
+
+    /**
+     * Number of lift events kept on the bus for consumers falling behind.
+     */
+    private static final int EVENT_BUS_CAPACITY = 4096;
+
+    /**
+     * Number of waiting passengers a lift may pass over at a stop to board lighter passengers behind them,
+     * and of times a waiting passenger may be passed over.
+     */
+    public static final int DEFAULT_SKIP_LIMIT = 3;
 
     private final int maxFloor;
     private final int maxLift;
@@ -23,6 +43,24 @@ public class Building implements LiftListener {
 
     private Lift[] lifts;
     private Floor[] floors;
+    private final HallCallRegistry arriveFloors;
+    private Dispatcher dispatcher;
+    private final LiftEventBus eventBus = new LiftEventBus(EVENT_BUS_CAPACITY);
+    private TraceRecorder traceRecorder;
+    private MetricsRegistry metrics;
+    private final LatencyHistogram waitTimes = new LatencyHistogram();
+    private final LatencyHistogram rideTimes = new LatencyHistogram();
+    private final LatencyHistogram journeyTimes = new LatencyHistogram();
+    private final DispatchStrategy strategy;
+    private final TrafficGenerator traffic;
+    private PassengerStream passengerStream;
+    private final SimulationClock clock;
+
+    private int passengerVolume;
+    private long autoDuration = 12 * AUTO_PASSENGER_PERIOD;
+    private int skipLimit = DEFAULT_SKIP_LIMIT;
+
+    private SimulationEngine engine;
 
     /**
      * Constructs an instance of the object containing maxFloor, floorHeight,
@@ -37,11 +75,30 @@ public class Building implements LiftListener {
      * @param isAuto            is the program auto
      */
     public Building(int maxFloor, int floorHeight, int floorWidth, int maxLift, int liftHeight, int liftWidth, int liftWeight, boolean isAuto) {
+        this(maxFloor, floorHeight, floorWidth, maxLift, liftHeight, liftWidth, liftWeight, isAuto, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Constructs an instance of the object containing maxFloor, floorHeight,
+     * floorWidth, maxLift, liftHeight, liftWidth, liftWeight, isAuto and seed arguments.
+     * The front-end draws its passengers from the traffic generator of the building.
+     *
+     * @param maxFloor          maximum floor number
+     * @param floorHeight       height of a floor
+     * @param floorWidth        width of a floor
+     * @param liftHeight        height of a lift
+     * @param liftWidth         width of a lift
+     * @param liftWeight        maximum lift capacity
+     * @param isAuto            is the program auto
+     * @param seed              seed of the passengers' generator
+     */
+    public Building(int maxFloor, int floorHeight, int floorWidth, int maxLift, int liftHeight, int liftWidth, int liftWeight, boolean isAuto, long seed) {
         this.maxFloor = maxFloor;
         this.maxLift = maxLift;
         this.liftWeight = liftWeight;
         this.lifts = new Lift[maxLift];
         this.floors = new Floor[maxFloor];
+        this.arriveFloors = new HallCallRegistry(maxFloor, maxLift);
         this.liftHeight = liftHeight;
         this.liftWidth = liftWidth;
         this.floorHeight = floorHeight;
@@ -49,6 +106,9 @@ public class Building implements LiftListener {
 
         this.isAuto = isAuto;
         this.isBackEnd = false;
+        this.strategy = new LookStrategy();
+        this.traffic = new TrafficGenerator(seed, maxFloor, liftWeight);
+        this.clock = new SimulationClock(Lift.FRONT_END_SPEED);
 
         init();
     }
@@ -67,11 +127,33 @@ public class Building implements LiftListener {
      * @param isAuto            is the program auto
      */
     public Building(int maxFloor, int floorHeight, int floorWidth, int maxLift, int liftHeight, int liftWidth, int liftWeight, int passengerNo, boolean isAuto) {
+        this(maxFloor, floorHeight, floorWidth, maxLift, liftHeight, liftWidth, liftWeight, passengerNo, isAuto, new LookStrategy(), new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Constructs an instance of the object containing maxFloor, floorHeight,
+     * floorWidth, maxLift, liftHeight, liftWidth, liftWeight, passengerNo, isAuto,
+     * strategy and seed arguments. Two buildings built with the same seed get the same passengers.
+     * In the auto mode, passengerNo is the passenger volume arriving every AUTO_PASSENGER_PERIOD of the run.
+     *
+     * @param maxFloor          maximum floor number
+     * @param floorHeight       height of a floor
+     * @param floorWidth        width of a floor
+     * @param liftHeight        height of a lift
+     * @param liftWidth         width of a lift
+     * @param liftWeight        maximum lift capacity
+     * @param passengerNo       number of passenger, or volume of passengers in the auto mode
+     * @param isAuto            is the program auto
+     * @param strategy          strategy moving and dispatching the lifts
+     * @param seed              seed of the passengers' generator
+     */
+    public Building(int maxFloor, int floorHeight, int floorWidth, int maxLift, int liftHeight, int liftWidth, int liftWeight, int passengerNo, boolean isAuto, DispatchStrategy strategy, long seed) {
         this.maxFloor = maxFloor;
         this.maxLift = maxLift;
         this.liftWeight = liftWeight;
         this.lifts = new Lift[maxLift];
         this.floors = new Floor[maxFloor];
+        this.arriveFloors = new HallCallRegistry(maxFloor, maxLift);
         this.liftHeight = liftHeight;
         this.liftWidth = liftWidth;
         this.floorHeight = floorHeight;
@@ -79,29 +161,224 @@ public class Building implements LiftListener {
 
         this.isAuto = isAuto;
         this.isBackEnd = true;
+        this.strategy = strategy;
+        this.traffic = new TrafficGenerator(seed, maxFloor, liftWeight);
+        this.clock = new SimulationClock(Lift.FRONT_END_SPEED);
 
         init();
 
-        setPassengerFloor(passengerNo);
+        if (isAuto) {
+            this.passengerVolume = passengerNo;
+        } else {
+            this.passengerStream = new PassengerStream(this.traffic, passengerNo);
+            setPassengerFloor(this.passengerStream.next());
+        }
     }
 
     /**
-     * Method starts the project, by initialising the threads.
-     * @return
+     * Method starts the project. A back-end building runs on the discrete-event
+     * engine in a single task, otherwise each lift runs on its own thread, virtual when available.
+     *
+     * @return                  future completed once every lift has stopped
      */
     public CompletableFuture<Void> start() {
-        //starting the lifts' threads.
+        if (this.isBackEnd) {
+            return CompletableFuture.runAsync(this::run);
+        }
+
+        //starting the lifts' threads, away from the common pool which the waiting lifts would starve.
+        ExecutorService executor = LiftExecutors.newLiftExecutor();
         List<CompletableFuture<Void>> completableFutures = new ArrayList<>();
         for (Lift lift : this.lifts) {
             lift.setListener(this);
             lift.setLiftMode(Lift.LiftMode.UP);
 
-            completableFutures.add(CompletableFuture.runAsync(lift::start));
+            completableFutures.add(CompletableFuture.runAsync(LiftExecutors.named(lift), executor));
         }
+        executor.shutdown();
 
         return CompletableFuture.allOf(completableFutures.toArray(new CompletableFuture[completableFutures.size()]));
     }
 
+    /**
+     * Method runs the simulation to completion on the calling thread,
+     * driving every lift from the discrete-event engine with a virtual clock.
+     * Once no event is left, the lifts still waiting for a call are stopped.
+     */
+    public void run() {
+        this.engine = new SimulationEngine(this.floors, this.dispatcher);
+        for (Lift lift : this.lifts) {
+            lift.setListener(this);
+            lift.setTraceRecorder(this.traceRecorder);
+            lift.setLiftMode(Lift.LiftMode.UP);
+
+            this.engine.addLift(lift);
+        }
+
+        if (this.isAuto) {
+            scheduleAutoPassengers();
+        }
+
+        this.engine.run();
+
+        //the lifts left waiting for a call once the events ran out are stopped with the run.
+        for (Lift lift : this.lifts) {
+            if (lift.isRunning()) {
+                lift.stop();
+                lift.end();
+            }
+        }
+    }
+
+    /**
+     * Method records the wait, ride and journey times of a passenger who has alighted.
+     *
+     * @param passenger         Passenger object with its arrival, boarding and alighting times
+     */
+    public void recordJourney(Passenger passenger) {
+        this.waitTimes.record(passenger.getWaitTime());
+        this.rideTimes.record(passenger.getRideTime());
+        this.journeyTimes.record(passenger.getJourneyTime());
+    }
+
+    /**
+     * Method gets the times the alighted passengers waited for a lift.
+     *
+     * @return                  LatencyHistogram object
+     */
+    public LatencyHistogram getWaitTimes() {
+        return waitTimes;
+    }
+
+    /**
+     * Method gets the times the alighted passengers spent in a lift.
+     *
+     * @return                  LatencyHistogram object
+     */
+    public LatencyHistogram getRideTimes() {
+        return rideTimes;
+    }
+
+    /**
+     * Method gets the times from the arrival to the alighting of the alighted passengers.
+     *
+     * @return                  LatencyHistogram object
+     */
+    public LatencyHistogram getJourneyTimes() {
+        return journeyTimes;
+    }
+
+    /**
+     * Method sets the recorder tracing the state changes of the lifts during the next backend run.
+     * The caller closes the recorder once the run is over.
+     *
+     * @param traceRecorder     TraceRecorder object, null for no trace
+     */
+    public void setTraceRecorder(TraceRecorder traceRecorder) {
+        this.traceRecorder = traceRecorder;
+    }
+
+    /**
+     * Method sets the virtual duration during which passengers arrive in the auto mode.
+     * The run then ends once every passenger has alighted.
+     *
+     * @param autoDuration      duration in milliseconds
+     */
+    public void setAutoDuration(long autoDuration) {
+        this.autoDuration = autoDuration;
+    }
+
+    /**
+     * Method gets the discrete-event engine of the last run.
+     *
+     * @return                  engine object, null if the building has not run
+     */
+    public SimulationEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Method gets the current time of the simulation. A back-end building reads the virtual
+     * clock of the engine, which is 0 before the run, otherwise the simulated time of the clock,
+     * started when the building was built.
+     *
+     * @return                  time in milliseconds
+     */
+    public long getTime() {
+        if (this.isBackEnd) {
+            return this.engine != null ? this.engine.getTime() : 0;
+        }
+        return this.clock.getTime();
+    }
+
+    /**
+     * Method sets the number of waiting passengers a lift may pass over at a stop when they do not fit,
+     * so the lighter passengers behind them can board, which is also the number of times a passenger
+     * may be passed over. The passed over passengers keep their place.
+     *
+     * @param skipLimit         number of passengers, 0 boards in strict order
+     */
+    public void setSkipLimit(int skipLimit) {
+        if (skipLimit < 0) {
+            throw new IllegalArgumentException("The skip limit must not be negative: " + skipLimit);
+        }
+        this.skipLimit = skipLimit;
+    }
+
+    /**
+     * Method gets the number of waiting passengers a lift may pass over at a stop when they do not fit.
+     *
+     * @return                  number of passengers
+     */
+    public int getSkipLimit() {
+        return skipLimit;
+    }
+
+    /**
+     * Method gets the strategy moving and dispatching the lifts.
+     *
+     * @return                  DispatchStrategy object
+     */
+    public DispatchStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Method gets the bus on which the lifts publish their state changes.
+     *
+     * @return                  LiftEventBus object
+     */
+    public LiftEventBus getEventBus() {
+        return eventBus;
+    }
+
+    /**
+     * Method gets the clock pacing the lifts running on their own threads.
+     *
+     * @return                  SimulationClock object
+     */
+    public SimulationClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Method gets the generator drawing the passengers of the building.
+     *
+     * @return                  TrafficGenerator object
+     */
+    public TrafficGenerator getTraffic() {
+        return traffic;
+    }
+
+    /**
+     * Method gets the registry in which the lifts count their moves and passengers.
+     *
+     * @return                  MetricsRegistry object
+     */
+    public MetricsRegistry getMetrics() {
+        return metrics;
+    }
+
     /**
      * Method gets the list of Lifts' object from the Building class.
      *
@@ -111,6 +388,15 @@ public class Building implements LiftListener {
         return lifts;
     }
 
+    /**
+     * Method gets the dispatcher assigning the hall calls to the lifts.
+     *
+     * @return                  Dispatcher object
+     */
+    public Dispatcher getDispatcher() {
+        return dispatcher;
+    }
+
     /**
      * Method gets the list of Floors' object from the Building class.
      *
@@ -162,11 +448,7 @@ public class Building implements LiftListener {
      * @return                          total boarded passengers
      */
     public int calculateTotalBoardPassengers() {
-        int totalPassengers = 0;
-        for(Lift lift : this.lifts) {
-            totalPassengers += lift.getTotalBoardPassengers();
-        }
-        return totalPassengers;
+        return (int) this.metrics.getTotalBoardPassengers();
     }
 
     /**
@@ -175,11 +457,7 @@ public class Building implements LiftListener {
      * @return                          total alighted passengers
      */
     public int calculateTotalAlightPassengers() {
-        int totalPassengers = 0;
-        for(Lift lift : this.lifts) {
-            totalPassengers += lift.getTotalAlightPassengers();
-        }
-        return totalPassengers;
+        return (int) this.metrics.getTotalAlightPassengers();
     }
 
     /**
@@ -187,61 +465,55 @@ public class Building implements LiftListener {
      *
      * @return                          total lift's moves
      */
-    private int calculateTotalLiftMoves() {
-        int totalMoves = 0;
-        for(Lift lift : this.lifts) {
-            totalMoves += lift.getTotalMoves();
-        }
-        return totalMoves;
+    public int calculateTotalLiftMoves() {
+        return (int) this.metrics.getTotalMoves();
     }
 
     /**
-     * Method calculate the total cost of the program.
+     * Method calculate the total cost of the program, the moves per alighted passenger and lift.
+     * The division is not truncated, sweep stores from before this hold truncated costs
+     * and are discarded by their version. While the lifts run, a snapshot of the metrics
+     * gives a cost consistent with the other metrics.
      *
      * @return                          total cost
      */
     public double calculateCost() {
-        if(calculateTotalAlightPassengers() == 0) {
+        long totalAlightPassengers = this.metrics.getTotalAlightPassengers();
+        if (totalAlightPassengers == 0) {
             return 0;
         }
-        return calculateTotalLiftMoves() / (calculateTotalAlightPassengers() * this.maxLift);
+        return (double) this.metrics.getTotalMoves() / (totalAlightPassengers * this.maxLift);
     }
 
     /**
-     * Method sets the passenger's source and destination floor.
+     * Method adds passengers drawn from the passenger stream to their source floor.
      *
-     * @param PassengerNo                   number of passengers
+     * @param passengers                    list of passengers
      */
-    private void setPassengerFloor(int PassengerNo) {
-        Random random = new Random();
-        for (int i = 0; i < PassengerNo; i++) {
-            int sourceFloor;
-            do {
-                sourceFloor = random.nextInt(this.maxFloor) + 1;
-            } while (sourceFloor < 1 || sourceFloor > this.maxFloor);
-
-            int liftNo;
-            do {
-                liftNo = random.nextInt(this.maxLift) + 1;
-            } while (liftNo < 1 || liftNo > this.maxLift);
-
-            int destinationFloor;
-            do {
-                destinationFloor = random.nextInt(this.maxFloor)+ 1;
-            } while(destinationFloor == sourceFloor || destinationFloor < 1 || destinationFloor > this.maxFloor);
-
-            if(this.floors[sourceFloor - 1].getPassengers().size() < PassengerNo) {
+    private void setPassengerFloor(List<Passenger> passengers) {
+        for (Passenger passenger : passengers) {
+            int sourceFloor = passenger.getSourceFloor();
 
-                int weight;
-                do {
-                    weight = random.nextInt(120) + 50;
-                } while (weight > this.liftWeight);
+            passenger.setArriveTime(getTime());
+            this.floors[sourceFloor - 1].addNewPassenger(passenger);
 
-                this.floors[sourceFloor - 1].addNewPassenger(new Passenger(weight, sourceFloor, destinationFloor));
+            if (EventLog.isEnabled(LogEvent.PASSENGER.getLevel())) {
+                EventLog.log(LogEvent.PASSENGER, passenger.getArriveTime(), -1, sourceFloor, passenger.getDestinationFloor());
+            }
 
-                System.out.println("Source "+sourceFloor);
+            this.dispatcher.assign(sourceFloor, passenger.getDirection());
+        }
+    }
 
-                this.lifts[liftNo-1].setArriveFloor(sourceFloor);
+    /**
+     * Method schedules the passengers of the auto mode on the engine. Like the front-end,
+     * a random number of passengers up to the passenger volume arrives every AUTO_PASSENGER_PERIOD.
+     */
+    private void scheduleAutoPassengers() {
+        for (long time = AUTO_PASSENGER_PERIOD; time <= this.autoDuration; time += AUTO_PASSENGER_PERIOD) {
+            int numOfPassenger = this.traffic.nextArrivals(this.passengerVolume);
+            for (int i = 0; i < numOfPassenger; i++) {
+                this.engine.schedulePassenger(time, this.traffic.nextPassenger());
             }
         }
     }
@@ -254,133 +526,148 @@ public class Building implements LiftListener {
             this.floors[i] = new Floor(i+1, this.floorHeight, this.floorWidth);
         }
 
+        this.metrics = new MetricsRegistry(this.maxLift, this.floors);
         for (int i = 0; i < this.maxLift; i++) {
-            this.lifts[i] = new Lift(this.maxFloor, 1, this.liftWeight, this.liftHeight, this.liftWidth, "Lift-"+(i+1), this.isAuto, this.isBackEnd);
+            this.lifts[i] = new Lift(this.maxFloor, 1, this.liftWeight, this.liftHeight, this.liftWidth, i, "Lift-"+(i+1), this.arriveFloors, this.strategy, this.isAuto, this.isBackEnd);
+            this.lifts[i].setEventBus(this.eventBus);
+            this.lifts[i].setMetrics(this.metrics);
+            this.lifts[i].setClock(this.clock);
         }
+
+        this.dispatcher = new Dispatcher(this.lifts, this.strategy);
     }
 
     /**
      * Method moves the lift up by certain floors.
      *
-     * @param liftName                      name of the lift
-     * @param fromFloorNo                   source floor
-     * @param moveTo                        destination floor
+     * @param liftIndex                     index of the lift
+     * @param fromFloorIndex                index of the source floor
+     * @param moveTo                        number of moves
      */
     @Override
-    public void upMoves(String liftName, int fromFloorNo, int moveTo) {
-        String s = String.format(" liftName: %s, fromFloorNo: %s, moveTo: %s", liftName, fromFloorNo, moveTo);
-        System.out.println("********* : upMoves : "+s);
+    public void upMoves(int liftIndex, int fromFloorIndex, int moveTo) {
+        if (EventLog.isEnabled(LogEvent.UP_MOVES.getLevel())) {
+            EventLog.log(LogEvent.UP_MOVES, getTime(), liftIndex, fromFloorIndex + 1, moveTo);
+        }
     }
 
     /**
      * Method moves the lift down by certain floors.
      *
-     * @param liftName                      name of the lift
-     * @param fromFloorNo                   source floor
-     * @param moveTo                        destination floor
+     * @param liftIndex                     index of the lift
+     * @param fromFloorIndex                index of the source floor
+     * @param moveTo                        number of moves
      */
     @Override
-    public void downMoves(String liftName, int fromFloorNo, int moveTo) {
-        String s = String.format(" liftName: $s, fromFloorNo: %s, moveTo: %s", liftName, fromFloorNo, moveTo);
-        System.out.println("********* : downMoves : "+ s);
+    public void downMoves(int liftIndex, int fromFloorIndex, int moveTo) {
+        if (EventLog.isEnabled(LogEvent.DOWN_MOVES.getLevel())) {
+            EventLog.log(LogEvent.DOWN_MOVES, getTime(), liftIndex, fromFloorIndex + 1, moveTo);
+        }
     }
 
     /**
-     * Method adds the passengers who are boarding a lift.
+     * Method removes the passengers boarding a lift who fit its remaining weight.
      *
-     * @param liftName                      name of the lift
-     * @param floorNo                       floor number
-     * @param lastPassenger                 previous passenger
-     * @param isFull                        is the lift full
-     * @return                              passenger who could not board
+     * @param liftIndex                     index of the lift
+     * @param floorIndex                    index of the floor
+     * @param direction                     direction of the lift, UP or DOWN
+     * @param remainingWeight               remaining weight the lift can carry
+     * @param boarded                       list receiving the boarding passengers
+     * @return                              is a passenger left waiting, the lift being full
      */
     @Override
-    public Passenger getBoardPassenger(String liftName, int floorNo, Passenger lastPassenger, boolean isFull) {
-        String s = String.format(" liftName: %s, floorNo: %s, lastPassenger: %s", liftName, floorNo, lastPassenger != null ? lastPassenger.toString(): null);
-        System.out.println("********* : getBoardPassenger : "+s);
-        System.out.println("********* : getBoardPassenger : isFull: "+isFull);
-
-        Floor floor = findFloor(floorNo);
-        if(!isFull) {
-            Passenger passenger = floor.removePassenger();
-            return passenger;
+    public boolean boardPassengers(int liftIndex, int floorIndex, Lift.LiftMode direction, int remainingWeight, List<Passenger> boarded) {
+        boolean isFull = this.floors[floorIndex].removePassengers(direction, remainingWeight, this.skipLimit, boarded);
+        long time = getTime();
+        if (EventLog.isEnabled(LogEvent.BOARD.getLevel())) {
+            EventLog.log(LogEvent.BOARD, time, liftIndex, floorIndex + 1, boarded.size());
         }
-
-        Lift lift = findLiftByName(liftName);
-        floor.addReturnPassenger(lastPassenger);
-        lift.setArriveFloor(floorNo);
-        return null;
+        if (isFull && EventLog.isEnabled(LogEvent.FULL.getLevel())) {
+            EventLog.log(LogEvent.FULL, time, liftIndex, floorIndex + 1, remainingWeight);
+        }
+        for (Passenger passenger : boarded) {
+            passenger.setBoardTime(time);
+        }
+        if (isFull) {
+            this.dispatcher.assign(floorIndex + 1, direction);
+        }
+        if (this.passengerStream != null) {
+            this.passengerStream.board(boarded.size());
+            setPassengerFloor(this.passengerStream.next());
+        }
+        return isFull;
     }
 
     /**
-     * Method removes the passenger who are alighting from a lift.
+     * Method removes the passengers who are alighting from a lift.
      *
-     * @param liftName                      name of the lift
-     * @param floorNo                       floor number
-     * @param passenger                     alighting passenger
+     * @param liftIndex                     index of the lift
+     * @param floorIndex                    index of the floor
+     * @param passengers                    alighting passengers
      */
     @Override
-    public void alightPassenger(String liftName, int floorNo, Passenger passenger) {
-        String s = String.format(" liftName: %s, floorNo: %s, lastPassenger: %s", liftName, floorNo, passenger != null ? passenger.toString() : null);
-        System.out.println("********* : alightPassenger : "+s);
+    public void alightPassengers(int liftIndex, int floorIndex, List<Passenger> passengers) {
+        long time = getTime();
+        if (EventLog.isEnabled(LogEvent.ALIGHT.getLevel())) {
+            EventLog.log(LogEvent.ALIGHT, time, liftIndex, floorIndex + 1, passengers.size());
+        }
+        for (Passenger passenger : passengers) {
+            passenger.setAlightTime(time);
+            recordJourney(passenger);
+        }
     }
 
     /**
      * Method to open the lift's door.
      *
-     * @param liftName                      name of the lift
-     * @param floorNo                       floor number
+     * @param liftIndex                     index of the lift
+     * @param floorIndex                    index of the floor
      */
     @Override
-    public void openDoor(String liftName, int floorNo) {
-        String s = String.format(" liftName: %s, floorNo: %s", liftName, floorNo);
-        System.out.println("********* : openDoor :"+s);
+    public void openDoor(int liftIndex, int floorIndex) {
+        if (EventLog.isEnabled(LogEvent.OPEN_DOOR.getLevel())) {
+            EventLog.log(LogEvent.OPEN_DOOR, getTime(), liftIndex, floorIndex + 1, 0);
+        }
     }
 
     /**
      * Method to close the lift's door.
      *
-     * @param liftName                      name of the lift
-     * @param floorNo                       floor number
+     * @param liftIndex                     index of the lift
+     * @param floorIndex                    index of the floor
      */
     @Override
-    public void closeDoor(String liftName, int floorNo) {
-        String s = String.format(" liftName: %s, floorNo: %s", liftName, floorNo);
-        System.out.println("********* : closeDoor :"+s);
+    public void closeDoor(int liftIndex, int floorIndex) {
+        if (EventLog.isEnabled(LogEvent.CLOSE_DOOR.getLevel())) {
+            EventLog.log(LogEvent.CLOSE_DOOR, getTime(), liftIndex, floorIndex + 1, 0);
+        }
     }
 
     /**
      * Method to display the lift's thread has initialised in the console.
      *
-     * @param liftName                      name of the lift
+     * @param liftIndex                     index of the lift
      */
     @Override
-    public void started(String liftName) {
-        System.out.println("********* : started : "+liftName);
+    public void started(int liftIndex) {
+        if (EventLog.isEnabled(LogEvent.STARTED.getLevel())) {
+            EventLog.log(LogEvent.STARTED, getTime(), liftIndex, this.lifts[liftIndex].getFloor(), 0);
+        }
     }
 
     /**
      * Method to display the lift's tread has terminated in the console.
      *
-     * @param liftName                      name of the lift
+     * @param liftIndex                     index of the lift
      */
     @Override
-    public void stopped(String liftName) {
-        System.out.println("********* : stopped : "+liftName);
-    }
-
-
-    private Lift findLiftByName(String liftName) {
-        return Arrays.asList(this.lifts).stream().filter(l -> l.getName().equals(liftName)).findAny().get();
-    }
-
-    private Floor findFloor(int floorNo) {
-//        return Arrays.asList(this.floors).stream().filter(f -> f.getFloorNo() == (floorNo - 1)).findAny().get();
-        for(Floor floor : this.floors){
-            if(floor.getFloorNo() == floorNo){
-                return floor;
-            }
+    public void stopped(int liftIndex) {
+        if (EventLog.isEnabled(LogEvent.STOPPED.getLevel())) {
+            EventLog.log(LogEvent.STOPPED, getTime(), liftIndex, this.lifts[liftIndex].getFloor(), 0);
+        }
+        if (!this.isAuto && !this.isBackEnd) {
+            //the lifts without calls would wait for good, the engine of a back-end run drains instead.
+            this.dispatcher.stopIdleLifts();
         }
-        return null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.simulation.lift.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class CarLoad {
+    private final List<Passenger>[] buckets;
+    private final FloorSet destinations;
+    private int size;
+    private int weight;
+
+    /**
+     * Constructs an empty load of a lift, whose passengers are indexed by destination floor.
+     *
+     * @param maxFloor              maximum floor number
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public CarLoad(int maxFloor) {
+        this.buckets = new List[maxFloor + 1];
+        this.destinations = new FloorSet(maxFloor);
+    }
+
+    /**
+     * Method adds a passenger to the bucket of their destination floor.
+     *
+     * @param passenger             Passenger object
+     */
+    public void add(Passenger passenger) {
+        int floorNo = passenger.getDestinationFloor();
+        if (this.buckets[floorNo] == null) {
+            this.buckets[floorNo] = new ArrayList<>();
+        }
+        this.buckets[floorNo].add(passenger);
+        this.destinations.add(floorNo);
+        this.size++;
+        this.weight += passenger.getWeight();
+    }
+
+    /**
+     * Method removes every passenger whose destination is the given floor.
+     *
+     * @param floorNo               floor number
+     * @return                      list of alighting passengers
+     */
+    public List<Passenger> alight(int floorNo) {
+        List<Passenger> bucket = this.buckets[floorNo];
+        if (bucket == null || !this.destinations.remove(floorNo)) {
+            return Collections.emptyList();
+        }
+
+        this.buckets[floorNo] = null;
+        this.size -= bucket.size();
+        for (Passenger passenger : bucket) {
+            this.weight -= passenger.getWeight();
+        }
+        return bucket;
+    }
+
+    /**
+     * Method gets the destination floors of the passengers in the lift.
+     *
+     * @return                      set of destination floors
+     */
+    public FloorSet getDestinations() {
+        return destinations;
+    }
+
+    /**
+     * Method gets the number of passengers in the lift.
+     *
+     * @return                      number of passengers
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Method checks whether the lift has no passengers.
+     *
+     * @return                      is the lift empty
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Method gets the total weight of the passengers in the lift.
+     *
+     * @return                      total weight
+     */
+    public int getWeight() {
+        return weight;
+    }
+}
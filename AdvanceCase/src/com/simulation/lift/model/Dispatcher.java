@@ -0,0 +1,46 @@
+package com.simulation.lift.model;
+
+import com.simulation.lift.api.DispatchStrategy;
+
+public class Dispatcher {
+    private final Lift[] lifts;
+    private final DispatchStrategy strategy;
+
+    /**
+     * Constructs an instance of the object containing the lifts and strategy arguments.
+     *
+     * @param lifts                 lifts of the building
+     * @param strategy              strategy selecting the lift of a call
+     */
+    public Dispatcher(Lift[] lifts, DispatchStrategy strategy) {
+        this.lifts = lifts;
+        this.strategy = strategy;
+    }
+
+    /**
+     * Method assigns a hall call to the lift selected by the strategy,
+     * registers the call for that lift only and wakes it.
+     *
+     * @param floorNo               floor of the call
+     * @param direction             direction of the call, UP or DOWN
+     * @return                      assigned lift
+     */
+    public synchronized Lift assign(int floorNo, Lift.LiftMode direction) {
+        Lift lift = this.strategy.selectLift(this.lifts, floorNo, direction);
+        lift.setArriveFloor(floorNo, direction);
+        return lift;
+    }
+
+    /**
+     * Method stops the lifts waiting without any call assigned to them. A non-auto run
+     * calls it once a lift has found no call left, as no new call will come for them.
+     */
+    public synchronized void stopIdleLifts() {
+        for (Lift lift : this.lifts) {
+            if (lift.isRunning() && lift.getLiftMode() == Lift.LiftMode.WAIT
+                    && lift.getArriveFloors().isEmpty(lift.getIndex())) {
+                lift.stop();
+            }
+        }
+    }
+}
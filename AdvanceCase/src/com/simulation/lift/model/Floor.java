@@ -1,14 +1,19 @@
 package com.simulation.lift.model;
 
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class Floor {
     private final int floorNo;
     private final int height;
     private final int width;
-    private final LinkedList<Passenger> passengers;
+    private final ConcurrentLinkedDeque<Passenger> upPassengers;
+    private final ConcurrentLinkedDeque<Passenger> downPassengers;
+    private final AtomicInteger passengerCount;
 
     /**
      * Constructs an instance of the object containing floorNo,
@@ -22,7 +27,9 @@ public class Floor {
         this.floorNo = floorNo;
         this.height = height;
         this.width = width;
-        this.passengers = new LinkedList<>();
+        this.upPassengers = new ConcurrentLinkedDeque<>();
+        this.downPassengers = new ConcurrentLinkedDeque<>();
+        this.passengerCount = new AtomicInteger();
     }
 
     public int getFloorNo() {
@@ -30,14 +37,14 @@ public class Floor {
     }
 
     /**
-     * Method adding passenger to the floor, who is waiting to aboard a lift.
+     * Method adding passenger to the floor, who is waiting to aboard a lift
+     * going in their direction.
      *
      * @param passenger             Passenger object
      */
     public void addNewPassenger(Passenger passenger) {
-        synchronized (this.passengers) {
-            this.passengers.addLast(passenger);
-        }
+        passengers(passenger.getDirection()).addLast(passenger);
+        this.passengerCount.incrementAndGet();
     }
 
     /**
@@ -47,31 +54,95 @@ public class Floor {
      * @param passenger             Passenger object
      */
     public void addReturnPassenger(Passenger passenger) {
-        synchronized (this.passengers) {
-            this.passengers.addFirst(passenger);
-        }
+        passengers(passenger.getDirection()).addFirst(passenger);
+        this.passengerCount.incrementAndGet();
     }
 
     /**
-     * Method gets the list of Passengers' object from the Floor class.
+     * Method gets a snapshot of the Passengers' object waiting on the floor.
      *
      * @return                      list of passengers
      */
     public List<Passenger> getPassengers() {
-        return Collections.unmodifiableList(this.passengers);
+        List<Passenger> passengers = new ArrayList<>(this.upPassengers);
+        passengers.addAll(this.downPassengers);
+        return Collections.unmodifiableList(passengers);
+    }
+
+    /**
+     * Method gets the number of passengers waiting on the floor, without copying the queue.
+     *
+     * @return                      number of passengers
+     */
+    public int getPassengerCount() {
+        return this.passengerCount.get();
     }
 
     /**
-     * Method removes the first passenger in the queue to board the lift.
+     * Method removes the first passenger in the queue of a direction to board the lift.
      *
-     * @return                      Passenger object
+     * @param direction             UP or DOWN
+     * @return                      Passenger object, null if nobody is waiting
      */
-    public Passenger removePassenger() {
-        synchronized (this.passengers) {
-            if (!this.passengers.isEmpty()) {
-                return this.passengers.removeFirst();
+    public Passenger removePassenger(Lift.LiftMode direction) {
+        ConcurrentLinkedDeque<Passenger> passengers = passengers(direction);
+        synchronized (passengers) {
+            Passenger passenger = passengers.pollFirst();
+            if (passenger != null) {
+                this.passengerCount.decrementAndGet();
             }
+            return passenger;
         }
-        return null;
+    }
+
+    /**
+     * Method removes the passengers in the queue of a direction who fit the remaining weight of the lift.
+     * A passenger who does not fit is passed over so the lighter passengers behind them can board,
+     * and keeps their place in the queue. At most skipLimit passengers are passed over at a stop,
+     * and a passenger is passed over skipLimit times at most, after which nobody behind them boards first.
+     * The lifts choose their passengers under the queue's lock, one lift at a time.
+     *
+     * @param direction             UP or DOWN
+     * @param remainingWeight       remaining weight the lift can carry
+     * @param skipLimit             maximum number of passengers passed over, 0 boards in strict order
+     * @param boarded               list receiving the boarding passengers
+     * @return                      is a passenger left waiting who does not fit
+     */
+    public boolean removePassengers(Lift.LiftMode direction, int remainingWeight, int skipLimit, List<Passenger> boarded) {
+        ConcurrentLinkedDeque<Passenger> passengers = passengers(direction);
+        synchronized (passengers) {
+            boolean isPassedOver = false;
+            int skipped = 0;
+            int count = 0;
+            Iterator<Passenger> iterator = passengers.iterator();
+            while (remainingWeight > 0 && iterator.hasNext()) {
+                Passenger passenger = iterator.next();
+                if (passenger.getWeight() > remainingWeight) {
+                    isPassedOver = true;
+                    if (skipped == skipLimit || passenger.getSkips() >= skipLimit) {
+                        break;
+                    }
+                    passenger.skip();
+                    skipped++;
+                    continue;
+                }
+                iterator.remove();
+                remainingWeight -= passenger.getWeight();
+                boarded.add(passenger);
+                count++;
+            }
+            this.passengerCount.addAndGet(-count);
+            return isPassedOver || (remainingWeight == 0 && !passengers.isEmpty());
+        }
+    }
+
+    /**
+     * Method gets the queue of the passengers going in a direction.
+     *
+     * @param direction             UP or DOWN
+     * @return                      queue of passengers
+     */
+    private ConcurrentLinkedDeque<Passenger> passengers(Lift.LiftMode direction) {
+        return direction == Lift.LiftMode.UP ? this.upPassengers : this.downPassengers;
     }
 }
\ No newline at end of file
@@ -0,0 +1,129 @@
+package com.simulation.lift.model;
+
+public class FloorSet {
+    private final long[] words;
+    private int size;
+
+    /**
+     * Constructs an empty set able to hold the floors from 0 to maxFloor,
+     * kept as one bit per floor.
+     *
+     * @param maxFloor              maximum floor number
+     */
+    public FloorSet(int maxFloor) {
+        this.words = new long[(maxFloor >> 6) + 1];
+    }
+
+    /**
+     * Method adds a floor to the set.
+     *
+     * @param floorNo               floor number
+     * @return                      whether the floor was not in the set
+     */
+    public boolean add(int floorNo) {
+        long mask = 1L << floorNo;
+        int index = floorNo >> 6;
+        if ((this.words[index] & mask) != 0) {
+            return false;
+        }
+        this.words[index] |= mask;
+        this.size++;
+        return true;
+    }
+
+    /**
+     * Method removes a floor from the set.
+     *
+     * @param floorNo               floor number
+     * @return                      whether the floor was in the set
+     */
+    public boolean remove(int floorNo) {
+        long mask = 1L << floorNo;
+        int index = floorNo >> 6;
+        if ((this.words[index] & mask) == 0) {
+            return false;
+        }
+        this.words[index] &= ~mask;
+        this.size--;
+        return true;
+    }
+
+    /**
+     * Method checks whether a floor is in the set.
+     *
+     * @param floorNo               floor number
+     * @return                      is the floor in the set
+     */
+    public boolean contains(int floorNo) {
+        return (this.words[floorNo >> 6] & (1L << floorNo)) != 0;
+    }
+
+    /**
+     * Method gets the number of floors in the set.
+     *
+     * @return                      number of floors
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Method checks whether the set has no floors.
+     *
+     * @return                      is the set empty
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Method gets the lowest floor of the set at or above a floor.
+     *
+     * @param floorNo               floor number
+     * @return                      floor number, -1 if there is none
+     */
+    public int nextSetBit(int floorNo) {
+        if (floorNo < 0) {
+            floorNo = 0;
+        }
+        int index = floorNo >> 6;
+        if (index >= this.words.length) {
+            return -1;
+        }
+
+        long word = this.words[index] & (-1L << floorNo);
+        while (word == 0) {
+            if (++index == this.words.length) {
+                return -1;
+            }
+            word = this.words[index];
+        }
+        return (index << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * Method gets the highest floor of the set at or below a floor.
+     *
+     * @param floorNo               floor number
+     * @return                      floor number, -1 if there is none
+     */
+    public int previousSetBit(int floorNo) {
+        if (floorNo < 0) {
+            return -1;
+        }
+        int index = floorNo >> 6;
+        if (index >= this.words.length) {
+            index = this.words.length - 1;
+            floorNo = -1;
+        }
+
+        long word = this.words[index] & (-1L >>> -(floorNo + 1));
+        while (word == 0) {
+            if (index-- == 0) {
+                return -1;
+            }
+            word = this.words[index];
+        }
+        return (index << 6) + 63 - Long.numberOfLeadingZeros(word);
+    }
+}
@@ -0,0 +1,150 @@
+package com.simulation.lift.model;
+
+import java.util.Arrays;
+
+public class HallCallRegistry {
+    private final FloorSet upCalls;
+    private final FloorSet downCalls;
+    private final FloorSet[] upAssigned;
+    private final FloorSet[] downAssigned;
+    //index of the lift each call is assigned to, -1 for none.
+    private final int[] upOwners;
+    private final int[] downOwners;
+
+    /**
+     * Constructs an empty registry of the floors where passengers are waiting,
+     * kept apart for passengers going up and passengers going down.
+     * Every call is assigned to a single lift, which is the only one heading for it.
+     * Each building owns its registry and shares it between its own lifts only.
+     *
+     * @param maxFloor              maximum floor number
+     * @param maxLift               number of lifts
+     */
+    public HallCallRegistry(int maxFloor, int maxLift) {
+        this.upCalls = new FloorSet(maxFloor);
+        this.downCalls = new FloorSet(maxFloor);
+        this.upAssigned = new FloorSet[maxLift];
+        this.downAssigned = new FloorSet[maxLift];
+        for (int i = 0; i < maxLift; i++) {
+            this.upAssigned[i] = new FloorSet(maxFloor);
+            this.downAssigned[i] = new FloorSet(maxFloor);
+        }
+        this.upOwners = new int[maxFloor + 1];
+        this.downOwners = new int[maxFloor + 1];
+        Arrays.fill(this.upOwners, -1);
+        Arrays.fill(this.downOwners, -1);
+    }
+
+    /**
+     * Method registers a hall call on a floor and assigns it to a lift,
+     * taking it from the lift it was assigned to before, if any.
+     *
+     * @param floorNo               floor number
+     * @param direction             UP or DOWN
+     * @param lift                  index of the lift
+     */
+    public synchronized void add(int floorNo, Lift.LiftMode direction, int lift) {
+        calls(direction).add(floorNo);
+        int[] owners = owners(direction);
+        if (owners[floorNo] != -1) {
+            assigned(direction, owners[floorNo]).remove(floorNo);
+        }
+        owners[floorNo] = lift;
+        assigned(direction, lift).add(floorNo);
+    }
+
+    /**
+     * Method removes the hall call of a floor, as a lift is serving it.
+     *
+     * @param floorNo               floor number
+     * @param direction             UP or DOWN
+     * @return                      whether the call was registered
+     */
+    public synchronized boolean remove(int floorNo, Lift.LiftMode direction) {
+        int[] owners = owners(direction);
+        if (owners[floorNo] != -1) {
+            assigned(direction, owners[floorNo]).remove(floorNo);
+            owners[floorNo] = -1;
+        }
+        return calls(direction).remove(floorNo);
+    }
+
+    /**
+     * Method checks whether a hall call is registered on a floor.
+     *
+     * @param floorNo               floor number
+     * @param direction             UP or DOWN
+     * @return                      is the call registered
+     */
+    public synchronized boolean contains(int floorNo, Lift.LiftMode direction) {
+        return calls(direction).contains(floorNo);
+    }
+
+    /**
+     * Method checks whether any hall call is waiting.
+     *
+     * @return                      is the registry empty
+     */
+    public synchronized boolean isEmpty() {
+        return this.upCalls.isEmpty() && this.downCalls.isEmpty();
+    }
+
+    /**
+     * Method checks whether any hall call is assigned to a lift.
+     *
+     * @param lift                  index of the lift
+     * @return                      has the lift no call
+     */
+    public synchronized boolean isEmpty(int lift) {
+        return this.upAssigned[lift].isEmpty() && this.downAssigned[lift].isEmpty();
+    }
+
+    /**
+     * Method gets the lowest hall call at or above a floor assigned to a lift.
+     *
+     * @param floorNo               floor number
+     * @param direction             UP or DOWN
+     * @param lift                  index of the lift
+     * @return                      floor of the call, 0 if there is none
+     */
+    public synchronized int nextCall(int floorNo, Lift.LiftMode direction, int lift) {
+        return Math.max(assigned(direction, lift).nextSetBit(floorNo), 0);
+    }
+
+    /**
+     * Method gets the highest hall call at or below a floor assigned to a lift.
+     *
+     * @param floorNo               floor number
+     * @param direction             UP or DOWN
+     * @param lift                  index of the lift
+     * @return                      floor of the call, 0 if there is none
+     */
+    public synchronized int previousCall(int floorNo, Lift.LiftMode direction, int lift) {
+        return Math.max(assigned(direction, lift).previousSetBit(floorNo), 0);
+    }
+
+    /**
+     * Method gets the calls of a direction.
+     *
+     * @param direction             UP or DOWN
+     * @return                      set of floors
+     */
+    private FloorSet calls(Lift.LiftMode direction) {
+        return direction == Lift.LiftMode.UP ? this.upCalls : this.downCalls;
+    }
+
+    /**
+     * Method gets the calls of a direction assigned to a lift.
+     *
+     * @param direction             UP or DOWN
+     * @param lift                  index of the lift
+     * @return                      set of floors
+     */
+    private FloorSet assigned(Lift.LiftMode direction, int lift) {
+        return direction == Lift.LiftMode.UP ? this.upAssigned[lift] : this.downAssigned[lift];
+    }
+
+    private int[] owners(Lift.LiftMode direction) {
+        return direction == Lift.LiftMode.UP ? this.upOwners : this.downOwners;
+    }
+}
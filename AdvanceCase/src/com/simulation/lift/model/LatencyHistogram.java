@@ -0,0 +1,119 @@
+package com.simulation.lift.model;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of durations in milliseconds, recorded by any number of threads without locking.
+ *
+ * Values below 32 have a bucket each. Above, every power of two is split into 32 buckets,
+ * so a percentile is read back within about 3% of the recorded value, whatever its size,
+ * from a fixed number of buckets.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_VALUE_BITS = 40;
+
+    private final AtomicLongArray buckets;
+    private final AtomicLong max;
+
+    /**
+     * Constructs an instance of the object with no recorded value.
+     */
+    public LatencyHistogram() {
+        this.buckets = new AtomicLongArray((MAX_VALUE_BITS - SUB_BUCKET_BITS + 1) * SUB_BUCKETS);
+        this.max = new AtomicLong();
+    }
+
+    /**
+     * Method records a duration. Negative durations count as 0, those of more than
+     * 2^40 milliseconds count in the last bucket.
+     *
+     * @param value                 duration in milliseconds
+     */
+    public void record(long value) {
+        value = Math.max(0, value);
+        this.buckets.getAndIncrement(Math.min(bucketOf(value), this.buckets.length() - 1));
+
+        long max = this.max.get();
+        while (value > max && !this.max.compareAndSet(max, value)) {
+            max = this.max.get();
+        }
+    }
+
+    /**
+     * Method gets the number of recorded durations.
+     *
+     * @return                      count
+     */
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < this.buckets.length(); i++) {
+            count += this.buckets.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Method gets the longest recorded duration.
+     *
+     * @return                      duration in milliseconds, 0 if nothing is recorded
+     */
+    public long getMax() {
+        return this.max.get();
+    }
+
+    /**
+     * Method gets the duration under which a percentage of the recorded durations fall,
+     * using the nearest rank.
+     *
+     * @param percentile            percentage between 0 and 100
+     * @return                      duration in milliseconds, 0 if nothing is recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long count = getCount();
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < this.buckets.length(); i++) {
+            seen += this.buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(middleOf(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Method gets the bucket counting a value.
+     *
+     * @param value                 duration in milliseconds, not negative
+     * @return                      index of the bucket
+     */
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    /**
+     * Method gets the value in the middle of a bucket.
+     *
+     * @param bucket                index of the bucket
+     * @return                      duration in milliseconds
+     */
+    private static long middleOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket >>> SUB_BUCKET_BITS) - 1;
+        long lowest = (long) (SUB_BUCKETS + (bucket & (SUB_BUCKETS - 1))) << shift;
+        return lowest + ((1L << shift) >>> 1);
+    }
+}
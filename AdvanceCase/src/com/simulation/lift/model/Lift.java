@@ -1,9 +1,18 @@
 package com.simulation.lift.model;
 
+import com.simulation.lift.api.DispatchStrategy;
+import com.simulation.lift.api.IndexedLiftListener;
+import com.simulation.lift.api.LiftEventType;
 import com.simulation.lift.api.LiftListener;
+import com.simulation.lift.api.LiftListenerAdapter;
+import com.simulation.lift.log.EventLog;
+import com.simulation.lift.log.LogEvent;
 
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class Lift {
     /**
@@ -20,58 +29,104 @@ public class Lift {
         FULL
     }
 
+    /**
+     * Simulated time in milliseconds for the lift to travel one floor.
+     */
+    public static final long MOVE_TIME = 1000;
+
+    /**
+     * Simulated time in milliseconds for the lift's door to open or close.
+     */
+    public static final long DOOR_TIME = 500;
+
+    /**
+     * Simulated time in milliseconds for one passenger to board or alight.
+     */
+    public static final long TRANSFER_TIME = 250;
+
+    /**
+     * Number of simulated milliseconds passing in a real millisecond for a lift running on its own thread,
+     * when no clock sets the pace, and the speed a front-end clock starts at.
+     */
+    public static final long FRONT_END_SPEED = 10;
+
     private int floor;
 
     private final int maxFloor;
     private final int minFloor;
     private int maxWeight;
+    private final int capacity;
     private final int height;
     private final int width;
+    private final int index;
     private final String name;
 
     private int totalBoardPassengers;
     private int totalAlightPassengers;
     private int totalMoves;
+    //hall calls are assigned from the dispatching threads, so the count is atomic.
+    private final AtomicInteger assignedCalls = new AtomicInteger();
 
     private LiftMode liftMode;
     private LiftMode liftDirection;
-
-    private final List<Passenger> passengers;
-    private final static List<Integer> arriveFloors = Collections.synchronizedList(new ArrayList<>());
-    private final List<Integer> departFloors;
-
-    private LiftListener listener;
-
-    private boolean isRunning;
-
-    private Object object = new Object();
+    private LiftMode claimedDirection;
+
+    private final CarLoad passengers;
+    private final List<Passenger> boardPassengers;
+    private final HallCallRegistry arriveFloors;
+    private final FloorSet departFloors;
+    private final DispatchStrategy strategy;
+
+    private IndexedLiftListener listener;
+    private LiftEventBus eventBus;
+    private TraceRecorder traceRecorder;
+    private MetricsRegistry metrics;
+    private SimulationClock clock;
+    private boolean isActive;
+    private SimulationEngine engine;
+
+    private volatile boolean isRunning;
+    private boolean isWaitUp;
+    private boolean isWaitDown;
+    private boolean isFull;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition hallCall = lock.newCondition();
+    private boolean isCalled;
 
     private final boolean isAuto;
     private final boolean isBackEnd;
 
     /**
      * Constructs an instance of the object containing maxFloor, minFloor,
-     * maxWeight, height, width and name arguments.
+     * maxWeight, height, width, index and name arguments.
      *
      * @param maxFloor              maximum floor number
      * @param minFloor              minimum floor number
      * @param maxWeight             maximum capacity
      * @param height                height of a lift
      * @param width                 width of a lift
+     * @param index                 index of the lift in its building
      * @param name                  name of the lift
+     * @param arriveFloors          hall calls of the lift's building
+     * @param strategy              strategy choosing the lift's stops
      * @param isAuto                is the program auto
      * @param isBackEnd             is the program only for back-end
      */
-    public Lift(int maxFloor, int minFloor, int maxWeight, int height, int width, String name, boolean isAuto, boolean isBackEnd) {
+    public Lift(int maxFloor, int minFloor, int maxWeight, int height, int width, int index, String name, HallCallRegistry arriveFloors, DispatchStrategy strategy, boolean isAuto, boolean isBackEnd) {
         this.floor = minFloor;
 
         this.maxFloor = maxFloor;
         this.minFloor = minFloor;
         this.maxWeight = maxWeight;
+        this.capacity = maxWeight;
         this.height = height;
         this.width = width;
 
+        this.index = index;
         this.name = name;
+        this.arriveFloors = arriveFloors;
+        this.strategy = strategy;
 
         this.isAuto = isAuto;
         this.isBackEnd = isBackEnd;
@@ -83,8 +138,9 @@ public class Lift {
             this.liftMode = LiftMode.UP;
         }
 
-        this.passengers = new ArrayList<>();
-        this.departFloors = new ArrayList<>();
+        this.passengers = new CarLoad(maxFloor);
+        this.boardPassengers = new ArrayList<>();
+        this.departFloors = this.passengers.getDestinations();
     }
 
     /**
@@ -92,14 +148,87 @@ public class Lift {
      *
      * @param listener              listener object
      */
-    public void setListener(LiftListener listener) {
+    public void setListener(IndexedLiftListener listener) {
         this.listener = listener;
     }
 
+    /**
+     * Method sets a listener object identifying the lifts by name to the Lift class.
+     *
+     * @param listener              listener object
+     */
+    public void setListener(LiftListener listener) {
+        this.listener = new LiftListenerAdapter(listener, this.name);
+    }
+
+    /**
+     * Method sets the bus on which the lift publishes its state changes.
+     *
+     * @param eventBus              LiftEventBus object
+     */
+    public void setEventBus(LiftEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    /**
+     * Method sets the recorder tracing the state changes of the lift.
+     *
+     * @param traceRecorder         TraceRecorder object, null to stop recording
+     */
+    void setTraceRecorder(TraceRecorder traceRecorder) {
+        this.traceRecorder = traceRecorder;
+    }
+
+    /**
+     * Method sets the clock pacing the lift when it runs on its own thread.
+     *
+     * @param clock                 SimulationClock object
+     */
+    void setClock(SimulationClock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Method sets the registry in which the lift counts its moves and passengers.
+     *
+     * @param metrics               MetricsRegistry object
+     */
+    void setMetrics(MetricsRegistry metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Method attaches the discrete-event engine driving the lift.
+     * When set, hall calls wake the lift through the engine instead of a thread.
+     *
+     * @param engine                engine object
+     */
+    void setEngine(SimulationEngine engine) {
+        this.engine = engine;
+    }
+
     public void setLiftMode(LiftMode mode) {
         this.liftMode = mode;
     }
 
+    /**
+     * Method gets the current state of the lift.
+     *
+     * @return                      lift's state
+     */
+    public LiftMode getLiftMode() {
+        return liftMode;
+    }
+
+    /**
+     * Method checks whether the lift is still running.
+     *
+     * @return                      is the lift running
+     */
+    public boolean isRunning() {
+        return isRunning;
+    }
+
     /**
      * Method gets the height of a lift.
      *
@@ -136,6 +265,15 @@ public class Lift {
         return minFloor;
     }
 
+    /**
+     * Method gets the index of the lift in its building.
+     *
+     * @return                      lift's index
+     */
+    public int getIndex() {
+        return index;
+    }
+
     /**
      * Method gets the name of the lift.
      *
@@ -176,7 +314,6 @@ public class Lift {
      * Method to start the lift simulation in the back-end.
      */
     public void start() {
-        this.isRunning = true;
         liftOperation();
     }
 
@@ -185,15 +322,81 @@ public class Lift {
      */
     public void stop() {
         this.isRunning = false;
-        synchronized (object) {
-            object.notifyAll();
-        }
+        signalHallCall();
     }
 
     public int getFloor() {
         return floor;
     }
 
+    /**
+     * Method gets the direction the lift is travelling in.
+     *
+     * @return                          UP, DOWN or WAIT before the first move
+     */
+    public LiftMode getLiftDirection() {
+        return liftDirection;
+    }
+
+    /**
+     * Method gets the weight the lift can still carry.
+     *
+     * @return                          remaining capacity
+     */
+    public int getRemainingWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * Method gets the number of floors the lift's passengers are going to.
+     *
+     * @return                          number of pending stops
+     */
+    public int getPendingStops() {
+        return this.departFloors.size();
+    }
+
+    /**
+     * Method gets the hall calls of the lift's building, each assigned to one of its lifts.
+     *
+     * @return                          hall call registry
+     */
+    public HallCallRegistry getArriveFloors() {
+        return arriveFloors;
+    }
+
+    /**
+     * Method gets the floors the lift's passengers are going to.
+     *
+     * @return                          set of floors
+     */
+    public FloorSet getDepartFloors() {
+        return departFloors;
+    }
+
+    /**
+     * Method gets the number of hall calls assigned to the lift since it last boarded passengers.
+     *
+     * @return                          number of assigned calls
+     */
+    public int getAssignedCalls() {
+        return assignedCalls.get();
+    }
+
+    /**
+     * Method gets the farthest floor the lift's passengers are going to in a direction.
+     *
+     * @param direction                 UP or DOWN
+     * @return                          farthest stop, the current floor if there is none
+     */
+    public int getLastStop(LiftMode direction) {
+        int stop = direction == LiftMode.UP ? this.departFloors.previousSetBit(this.maxFloor) : this.departFloors.nextSetBit(this.minFloor);
+        if (stop == -1 || (direction == LiftMode.UP ? stop < this.floor : stop > this.floor)) {
+            return this.floor;
+        }
+        return stop;
+    }
+
     /**
      * Method gets the maximum distance between the maxFloor and minFloor.
      *
@@ -204,24 +407,13 @@ public class Lift {
     }
 
     /**
-     * Method boards passengers to the lift.
+     * Method boards a passenger to the lift.
      *
-     * @param passenger                 Passenger object
-     * @return                          whether or not the passenger boarded
+     * @param passenger                 Passenger object, fitting the remaining weight
      */
-    private boolean boardPassenger(Passenger passenger){
-        if (this.maxWeight - passenger.getWeight() < 0 ) {
-            return true;
-        }
-
-        if (this.passengers.add(passenger)) {
-            this.maxWeight -= passenger.getWeight();
-            if (!this.departFloors.contains(passenger.getDestinationFloor())) {
-                this.departFloors.add(passenger.getDestinationFloor());
-                this.departFloors.sort(Comparator.naturalOrder());
-            }
-        }
-        return false;
+    void boardPassenger(Passenger passenger){
+        this.passengers.add(passenger);
+        this.maxWeight -= passenger.getWeight();
     }
 
     /**
@@ -229,18 +421,11 @@ public class Lift {
      *
      * @return                          list of passengers
      */
-    private List<Passenger> alight() {
-
-        List<Passenger> alightPassenger = this.passengers.stream()
-                .filter(p->this.floor == p.getDestinationFloor())
-                .map(p -> {
-                    this.maxWeight += p.getWeight();
-                    return p;
-                })
-                .collect(Collectors.toList());
-
-        this.passengers.removeAll(alightPassenger);
-
+    List<Passenger> alight() {
+        List<Passenger> alightPassenger = this.passengers.alight(this.floor);
+        for (Passenger passenger : alightPassenger) {
+            this.maxWeight += passenger.getWeight();
+        }
         return alightPassenger;
     }
 
@@ -248,17 +433,16 @@ public class Lift {
      * Method sets the arrival floors of passengers.
      *
      * @param floorNO               floor number
+     * @param direction             direction the passengers are going, UP or DOWN
      */
-    public void setArriveFloor(int floorNO) {
-        synchronized (arriveFloors) {
-            if (!arriveFloors.contains(floorNO)) {
-                arriveFloors.add(Integer.valueOf(floorNO));
-                arriveFloors.sort(Comparator.naturalOrder());
-            }
-        }
+    public void setArriveFloor(int floorNO, LiftMode direction) {
+        arriveFloors.add(floorNO, direction, this.index);
+        assignedCalls.incrementAndGet();
 
-        synchronized (object) {
-            object.notifyAll();
+        signalHallCall();
+
+        if (this.engine != null) {
+            this.engine.wake(this);
         }
     }
 
@@ -267,288 +451,413 @@ public class Lift {
      */
     private void liftOperation() {
         //Start Lift
-        this.listener.started(this.name);
-
-        boolean isWaitUp = false;
-        boolean isWaitDown = false;
-        boolean isFull = false;
+        begin();
+        setActive(true);
 
         while(isRunning) {
-            System.out.println("Thread "+this.name+ " LiftMode: "+this.liftMode.name());
-
-            try {
-                switch (this.liftMode) {
-                    case FULL:
-                        int move = getUpDownMove(liftDirection, this.floor);
-                        if(move == -1){
-                            liftDirection = liftDirection == LiftMode.UP ? LiftMode.DOWN : LiftMode.UP;
-                        }
-                        else if (liftDirection == LiftMode.UP) {
-                            isFull = false;
-                            this.listener.upMoves(this.name, this.floor, move);
-
-                            this.floor += move;
-                            arriveFloors.remove(Integer.valueOf(this.floor));
-                            this.totalMoves += move;
-                            this.liftMode = LiftMode.OPEN;
-                        } else {
-                            isFull = false;
-                            this.listener.downMoves(this.name, this.floor, move);
-
-                            this.floor -= move;
-                            arriveFloors.remove(Integer.valueOf(this.floor));
-                            this.totalMoves += move;
-                            this.liftMode = LiftMode.OPEN;
-                        }
-                        break;
-
-                    case WAIT:
-                        synchronized (object) {
-                            try {
-                                object.wait();
-                            } catch (InterruptedException e) {
-                                e.printStackTrace();
-                            }
-                        }
-                        this.liftMode = LiftMode.UP;
-                        isWaitDown = false;
-                        isWaitUp = false;
-                        break;
-
-                    case UP:
-                        if (this.floor == this.maxFloor) {
-                            this.liftMode = LiftMode.DOWN;
-                            isWaitUp = true;
-
-                        } else {
-                            move = getUpMove(this.floor);
-                            if (move == -1) {
-                                if(this.passengers.isEmpty() && totalBoardPassengers == totalAlightPassengers && arriveFloors.isEmpty() && departFloors.isEmpty()) {
-                                    if(!this.isAuto) {
-                                        stop();
-                                        break;
-                                    }
-                                    this.liftMode = LiftMode.WAIT;
-                                }
-                                else {
-                                    this.liftMode = LiftMode.DOWN;
-                                    isWaitUp = true;
-                                }
-                            } else {
-                                this.listener.upMoves(this.name, this.floor, move);
-
-                                this.floor += move;
-                                this.totalMoves += move;
-                                liftDirection = LiftMode.UP;
-                                this.liftMode = LiftMode.OPEN;
-                            }
-                        }
-                        break;
-
-                    case DOWN:
-                        if (this.floor == this.minFloor) {
-                            this.liftMode = LiftMode.UP;
-                            isWaitDown = true;
-
-                        } else {
-                            move = getDownMove(this.floor);
-                            if (move == -1) {
-                                if(this.passengers.isEmpty() && totalBoardPassengers == totalAlightPassengers && arriveFloors.isEmpty()&& departFloors.isEmpty()) {
-                                    if(!this.isAuto) {
-                                        stop();
-                                        break;
-                                    }
-                                    this.liftMode = LiftMode.WAIT;
-                                }
-                                else {
-                                    this.liftMode = LiftMode.UP;
-                                    isWaitDown = true;
-                                }
-                            } else {
-                                this.listener.downMoves(this.name, this.floor, move);
-
-                                this.floor -= move;
-                                this.totalMoves += move;
-                                liftDirection = LiftMode.DOWN;
-                                this.liftMode = LiftMode.OPEN;
-                            }
-                        }
-                        break;
+            //the time takes the clock's lock, so it is only read when the mode is logged.
+            if (EventLog.isEnabled(LogEvent.LIFT_MODE.getLevel())) {
+                EventLog.log(LogEvent.LIFT_MODE, getTime(), this.index, this.floor, this.liftMode.ordinal());
+            }
 
-                    case OPEN:
-                        isWaitDown = false;
-                        isWaitUp = false;
+            if (this.liftMode == LiftMode.WAIT) {
+                setActive(false);
+                awaitHallCall();
+                if (!isRunning) {
+                    break;
+                }
+                setActive(true);
+            }
 
-                        this.listener.openDoor(this.name, this.floor);
+            pace(step());
+        }
 
-                        this.liftMode = LiftMode.ALIGHT;
-                        break;
+        //Stop Lift
+        setActive(false);
+        end();
+    }
 
-                    case ALIGHT:
-                        //Get off passenger
-                        for(Passenger passenger : alight()) {
-                            this.totalAlightPassengers++;
-                            this.listener.alightPassenger(this.name, this.floor, passenger);
-                            if(!isBackEnd) {
-                                waitFor();
-                            }
-                        }
+    /**
+     * Method blocks the lift's thread until a hall call is set or the lift is stopped.
+     * The lock and condition hand the thread back to its carrier while it waits,
+     * which a monitor does not do for a virtual thread.
+     */
+    private void awaitHallCall() {
+        lock.lock();
+        try {
+            while (!isCalled && isRunning) {
+                hallCall.await();
+            }
+            isCalled = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            this.isRunning = false;
+        } finally {
+            lock.unlock();
+        }
+    }
 
-                        departFloors.remove(Integer.valueOf(this.floor));
-                        this.liftMode = LiftMode.BOARED;
-                        break;
-
-                    case BOARED:
-                        //Get in passenger
-                        Passenger ps = this.listener.getBoardPassenger(this.name, this.floor, null, false);
-                        while(ps != null) {
-                            isFull = boardPassenger(ps);
-                            ps = this.listener.getBoardPassenger(this.name, this.floor, ps, isFull);
-                            this.totalBoardPassengers++;
-                            if(isFull) {
-                                this.totalBoardPassengers--;
-                            }
-                        }
-                        this.liftMode = LiftMode.CLOSE;
-                        break;
+    /**
+     * Method wakes the lift's thread waiting for a hall call.
+     */
+    private void signalHallCall() {
+        lock.lock();
+        try {
+            isCalled = true;
+            hallCall.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
 
-                    case CLOSE:
-                        this.listener.closeDoor(this.name, this.floor);
+    /**
+     * Method marks the lift as running and notifies the listener.
+     */
+    void begin() {
+        this.isRunning = true;
+        this.listener.started(this.index);
+        publish(LiftEventType.STARTED, 0, null);
+    }
 
-                        if (isFull) {
-                            this.liftMode = LiftMode.FULL;
-                        } else {
-                            this.liftMode = liftDirection;
-                        }
+    /**
+     * Method notifies the listener that the lift has stopped.
+     */
+    void end() {
+        this.listener.stopped(this.index);
+        publish(LiftEventType.STOPPED, 0, null);
+    }
 
-                        isWaitDown = false;
-                        isWaitUp = false;
-                }
-            } catch(Throwable t) {
-                t.printStackTrace();
+    /**
+     * Method holds the lift's thread for the duration of a transition, so the lift
+     * moves at a pace people can follow, whatever the pace of its consumers.
+     * The clock, if any, sets the pace and may pause the lift. A back-end lift is never held.
+     *
+     * @param duration                  simulated duration of the transition in milliseconds
+     */
+    private void pace(long duration) {
+        if (this.isBackEnd || duration <= 0) {
+            return;
+        }
+        try {
+            if (this.clock != null) {
+                this.clock.sleep(duration);
+            } else {
+                Thread.sleep(duration / FRONT_END_SPEED);
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            this.isRunning = false;
+        }
+    }
 
-            if (isWaitUp && isWaitDown) {
-                this.liftMode = LiftMode.WAIT;
+    /**
+     * Method tells the clock, if any, whether the lift runs transitions, so at max speed
+     * the time does not wait for a lift waiting for a call.
+     *
+     * @param isActive                  does the lift run transitions
+     */
+    private void setActive(boolean isActive) {
+        if (this.clock != null && this.isActive != isActive) {
+            this.isActive = isActive;
+            if (isActive) {
+                this.clock.activate();
+            } else {
+                this.clock.deactivate();
             }
         }
-
-        //Stop Lift
-        this.listener.stopped(this.name);
     }
 
     /**
-     * Method used to delay the simulation to be viewable by humans.
+     * Method gets the time of the engine or clock driving the lift, otherwise the real time.
+     *
+     * @return                          time in milliseconds
      */
-    public static void waitFor() {
-        try {
-            Thread.sleep(15);
-        } catch (Exception e) {
-            e.printStackTrace();
+    private long getTime() {
+        if (this.engine != null) {
+            return this.engine.getTime();
         }
+        return this.clock != null ? this.clock.getTime() : System.currentTimeMillis();
     }
 
     /**
-     * Method gets the number of moves lift have to perform for passengers to alight.
-     * This is because the lift is full, so it needs to empty lift.
+     * Method publishes a state change of the lift on the event bus and records it in the trace, if any.
      *
-     * @param mode                      lift's state
-     * @param floorNo                   current floor
-     * @return                          moves
+     * @param type                      type of the state change
+     * @param value                     number of moves, 0 for the other types
+     * @param passenger                 passenger of the change, null for none
      */
-    private int getUpDownMove(LiftMode mode, int floorNo) {
-
-        if (mode == LiftMode.UP) {
-            for (int i = 0; i < this.departFloors.size(); i++) {
-                int dep = this.departFloors.get(i).intValue();
-                if (dep > floorNo) {
-                    return  dep - floorNo;
-                }
+    private void publish(LiftEventType type, int value, Passenger passenger) {
+        if (this.eventBus != null || this.traceRecorder != null) {
+            long time = getTime();
+            if (this.eventBus != null) {
+                this.eventBus.publish(type, this, this.floor, value, passenger, time);
             }
-        } else {
-            for (int i = 1; i <= this.departFloors.size(); i++) {
-                int dep = this.departFloors.get(this.departFloors.size() -i).intValue();
-                if (dep < floorNo) {
-                    return floorNo - dep;
-                }
+            if (this.traceRecorder != null) {
+                this.traceRecorder.record(type, this.index, this.floor, value, passenger, time);
             }
         }
-        return -1;
     }
 
     /**
-     * Method gets the number of up moves lift have to perform.
+     * Method counts a transition of the lift in the metrics registry, if any.
      *
-     * @param floorNo                   current floor
-     * @return                          moves
+     * @param moves                     moves made
+     * @param boards                    passengers boarded
+     * @param alights                   passengers alighted
      */
-    private int getUpMove(int floorNo) {
-        int arr = 0;
-        for (int i = 0; i < arriveFloors.size(); i++) {
-            if (arriveFloors.get(i) >= floorNo) {
-                arr = arriveFloors.get(i);
-                break;
-            }
+    private void updateMetrics(int moves, int boards, int alights) {
+        if (this.metrics != null) {
+            this.metrics.update(this.index, moves, boards, alights, this.capacity - this.maxWeight);
         }
+    }
+
+    /**
+     * Method performs a single transition of the lift's state machine.
+     * A lift in the WAIT state is woken up and moves UP.
+     *
+     * @return                          simulated duration of the transition in milliseconds
+     */
+    long step() {
+        long duration = 0;
 
-        int dep = 0;
-        for (int i = 0; i < this.departFloors.size(); i++) {
-            if (this.departFloors.get(i) >= floorNo) {
-                dep = this.departFloors.get(i);
-                break;
+        try {
+            switch (this.liftMode) {
+                case FULL:
+                    int move = strategy.getUpDownMove(this, liftDirection, this.floor);
+                    if(move == -1){
+                        liftDirection = liftDirection == LiftMode.UP ? LiftMode.DOWN : LiftMode.UP;
+                    }
+                    else if (liftDirection == LiftMode.UP) {
+                        isFull = false;
+                        this.listener.upMoves(this.index, this.floor - 1, move);
+
+                        this.floor += move;
+                        publish(LiftEventType.UP_MOVES, move, null);
+                        claimArriveFloor(this.floor, liftDirection);
+                        this.totalMoves += move;
+                        updateMetrics(move, 0, 0);
+                        this.liftMode = LiftMode.OPEN;
+                        duration = (long) move * MOVE_TIME;
+                    } else {
+                        isFull = false;
+                        this.listener.downMoves(this.index, this.floor - 1, move);
+
+                        this.floor -= move;
+                        publish(LiftEventType.DOWN_MOVES, move, null);
+                        claimArriveFloor(this.floor, liftDirection);
+                        this.totalMoves += move;
+                        updateMetrics(move, 0, 0);
+                        this.liftMode = LiftMode.OPEN;
+                        duration = (long) move * MOVE_TIME;
+                    }
+                    break;
+
+                case WAIT:
+                    this.liftMode = LiftMode.UP;
+                    isWaitDown = false;
+                    isWaitUp = false;
+                    break;
+
+                case UP:
+                    if (this.floor == this.maxFloor) {
+                        this.liftMode = LiftMode.DOWN;
+                        isWaitUp = true;
+
+                    } else {
+                        move = strategy.getUpMove(this, this.floor);
+                        if (move == -1) {
+                            if(this.passengers.isEmpty() && totalBoardPassengers == totalAlightPassengers && arriveFloors.isEmpty() && departFloors.isEmpty()) {
+                                if(!this.isAuto) {
+                                    stop();
+                                    break;
+                                }
+                                this.liftMode = LiftMode.WAIT;
+                            }
+                            else {
+                                this.liftMode = LiftMode.DOWN;
+                                isWaitUp = true;
+                            }
+                        } else {
+                            this.listener.upMoves(this.index, this.floor - 1, move);
+
+                            this.floor += move;
+                            publish(LiftEventType.UP_MOVES, move, null);
+                            this.totalMoves += move;
+                            updateMetrics(move, 0, 0);
+                            liftDirection = LiftMode.UP;
+                            this.liftMode = LiftMode.OPEN;
+                            duration = (long) move * MOVE_TIME;
+                        }
+                    }
+                    break;
+
+                case DOWN:
+                    if (this.floor == this.minFloor) {
+                        this.liftMode = LiftMode.UP;
+                        isWaitDown = true;
+
+                    } else {
+                        move = strategy.getDownMove(this, this.floor);
+                        if (move == -1) {
+                            if(this.passengers.isEmpty() && totalBoardPassengers == totalAlightPassengers && arriveFloors.isEmpty()&& departFloors.isEmpty()) {
+                                if(!this.isAuto) {
+                                    stop();
+                                    break;
+                                }
+                                this.liftMode = LiftMode.WAIT;
+                            }
+                            else {
+                                this.liftMode = LiftMode.UP;
+                                isWaitDown = true;
+                            }
+                        } else {
+                            this.listener.downMoves(this.index, this.floor - 1, move);
+
+                            this.floor -= move;
+                            publish(LiftEventType.DOWN_MOVES, move, null);
+                            this.totalMoves += move;
+                            updateMetrics(move, 0, 0);
+                            liftDirection = LiftMode.DOWN;
+                            this.liftMode = LiftMode.OPEN;
+                            duration = (long) move * MOVE_TIME;
+                        }
+                    }
+                    break;
+
+                case OPEN:
+                    isWaitDown = false;
+                    isWaitUp = false;
+
+                    this.listener.openDoor(this.index, this.floor - 1);
+                    publish(LiftEventType.OPEN_DOOR, 0, null);
+
+                    this.liftMode = LiftMode.ALIGHT;
+                    duration = DOOR_TIME;
+                    break;
+
+                case ALIGHT:
+                    //Get off passenger
+                    List<Passenger> alightPassengers = alight();
+                    if (!alightPassengers.isEmpty()) {
+                        this.totalAlightPassengers += alightPassengers.size();
+                        updateMetrics(0, 0, alightPassengers.size());
+                        this.listener.alightPassengers(this.index, this.floor - 1, alightPassengers);
+                        for (Passenger passenger : alightPassengers) {
+                            publish(LiftEventType.ALIGHT, 0, passenger);
+                        }
+                        duration += alightPassengers.size() * TRANSFER_TIME;
+                    }
+
+                    this.liftMode = LiftMode.BOARED;
+                    break;
+
+                case BOARED:
+                    //Get in passenger going the same direction as the lift
+                    LiftMode boardDirection = getBoardDirection();
+                    arriveFloors.remove(this.floor, boardDirection);
+                    if (claimedDirection != null && claimedDirection != boardDirection) {
+                        arriveFloors.add(this.floor, claimedDirection, this.index);
+                    }
+                    claimedDirection = null;
+                    liftDirection = boardDirection;
+                    assignedCalls.set(0);
+
+                    this.boardPassengers.clear();
+                    isFull = this.listener.boardPassengers(this.index, this.floor - 1, boardDirection, this.maxWeight, this.boardPassengers);
+                    for (Passenger passenger : this.boardPassengers) {
+                        boardPassenger(passenger);
+                        publish(LiftEventType.BOARD, 0, passenger);
+                    }
+                    if (isFull) {
+                        publish(LiftEventType.RETURN, 0, null);
+                    }
+                    this.totalBoardPassengers += this.boardPassengers.size();
+                    if (!this.boardPassengers.isEmpty()) {
+                        updateMetrics(0, this.boardPassengers.size(), 0);
+                    }
+                    duration += this.boardPassengers.size() * TRANSFER_TIME;
+                    this.boardPassengers.clear();
+                    this.liftMode = LiftMode.CLOSE;
+                    break;
+
+                case CLOSE:
+                    this.listener.closeDoor(this.index, this.floor - 1);
+                    publish(LiftEventType.CLOSE_DOOR, 0, null);
+
+                    if (isFull) {
+                        this.liftMode = LiftMode.FULL;
+                    } else {
+                        this.liftMode = liftDirection;
+                    }
+
+                    isWaitDown = false;
+                    isWaitUp = false;
+                    duration = DOOR_TIME;
             }
+        } catch(Throwable t) {
+            t.printStackTrace();
         }
 
-        if (arr == 0 && dep == 0) {
-            return -1;
-        } else if (arr == 0) {
-            return dep - floorNo;
-        } else if (dep == 0) {
-            arriveFloors.remove(Integer.valueOf(arr));
-            return arr - floorNo;
-        } else if (dep >= arr) {
-            arriveFloors.remove(Integer.valueOf(arr));
-            return arr - floorNo;
-        } else {
-            return dep - floorNo;
+        if (isWaitUp && isWaitDown) {
+            this.liftMode = LiftMode.WAIT;
         }
+
+        return duration;
     }
 
     /**
-     * Method gets the number of down moves lift have to perform.
+     * Method removes a hall call the lift is about to serve, so other lifts skip it.
      *
-     * @param floorNo                   current floor
-     * @return                          moves
+     * @param floorNo                   floor of the call
+     * @param direction                 direction of the call
      */
-    private int getDownMove(int floorNo) {
-        int arr = 0;
-        for (int i = arriveFloors.size(); i > 0; i--) {
-            if (arriveFloors.get(i-1) <= floorNo) {
-                arr = arriveFloors.get(i-1);
-                break;
-            }
+    public void claimArriveFloor(int floorNo, LiftMode direction) {
+        if (arriveFloors.remove(floorNo, direction)) {
+            claimedDirection = direction;
         }
+    }
 
-        int dep = 0;
-        for (int i = this.departFloors.size(); i > 0; i--) {
-            if (this.departFloors.get(i-1) <= floorNo) {
-                dep = this.departFloors.get(i-1);
-                break;
-            }
+    /**
+     * Method gets the direction of the passengers to board at the current floor.
+     * The lift keeps its direction while it has work ahead or is called in that
+     * direction, otherwise it turns around for the passengers going the other way.
+     *
+     * @return                          UP or DOWN
+     */
+    private LiftMode getBoardDirection() {
+        LiftMode direction = liftDirection == LiftMode.DOWN ? LiftMode.DOWN : LiftMode.UP;
+        LiftMode opposite = direction == LiftMode.UP ? LiftMode.DOWN : LiftMode.UP;
+
+        if (hasWorkAhead(direction) || isCalledHere(direction) || !isCalledHere(opposite)) {
+            return direction;
         }
+        return opposite;
+    }
 
-        if (arr == 0 && dep == 0) {
-            return -1;
-        } else if (arr == 0) {
-            return floorNo - dep;
-        } else if (dep == 0) {
-            arriveFloors.remove(Integer.valueOf(arr));
-            return floorNo - arr;
-        } else if (dep >= arr) {
-            arriveFloors.remove(Integer.valueOf(arr));
-            return floorNo - arr;
-        } else {
-            return floorNo - dep;
+    /**
+     * Method checks whether the lift's passengers or assigned hall calls are beyond the current floor.
+     *
+     * @param direction                 UP or DOWN
+     * @return                          is there work ahead
+     */
+    private boolean hasWorkAhead(LiftMode direction) {
+        if (direction == LiftMode.UP) {
+            return this.departFloors.nextSetBit(this.floor + 1) != -1
+                    || arriveFloors.nextCall(this.floor + 1, LiftMode.UP, this.index) != 0
+                    || arriveFloors.nextCall(this.floor + 1, LiftMode.DOWN, this.index) != 0;
         }
+        return this.departFloors.previousSetBit(this.floor - 1) > 0
+                || arriveFloors.previousCall(this.floor - 1, LiftMode.UP, this.index) != 0
+                || arriveFloors.previousCall(this.floor - 1, LiftMode.DOWN, this.index) != 0;
+    }
+
+    /**
+     * Method checks whether passengers at the current floor called a lift in a direction.
+     *
+     * @param direction                 UP or DOWN
+     * @return                          is the lift called
+     */
+    private boolean isCalledHere(LiftMode direction) {
+        return claimedDirection == direction || arriveFloors.contains(this.floor, direction);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,98 @@
+package com.simulation.lift.model;
+
+import com.simulation.lift.api.LiftEventType;
+
+public final class LiftEvent {
+    private final long sequence;
+    private final LiftEventType type;
+    private final Lift lift;
+    private final int floorNo;
+    private final int value;
+    private final Passenger passenger;
+    private final long time;
+
+    /**
+     * Constructs an instance of the object containing sequence, type, lift,
+     * floorNo, value, passenger and time arguments.
+     *
+     * @param sequence              position of the event on the bus
+     * @param type                  type of the state change
+     * @param lift                  Lift object publishing the event
+     * @param floorNo               floor of the lift once the change is done
+     * @param value                 number of moves, 0 for the other types
+     * @param passenger             boarding, alighting or returning passenger, null for the other types
+     * @param time                  time of the event in milliseconds
+     */
+    LiftEvent(long sequence, LiftEventType type, Lift lift, int floorNo, int value, Passenger passenger, long time) {
+        this.sequence = sequence;
+        this.type = type;
+        this.lift = lift;
+        this.floorNo = floorNo;
+        this.value = value;
+        this.passenger = passenger;
+        this.time = time;
+    }
+
+    /**
+     * Method gets the position of the event on the bus.
+     *
+     * @return                      sequence number
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Method gets the type of the state change.
+     *
+     * @return                      LiftEventType object
+     */
+    public LiftEventType getType() {
+        return type;
+    }
+
+    /**
+     * Method gets the lift publishing the event.
+     *
+     * @return                      Lift object
+     */
+    public Lift getLift() {
+        return lift;
+    }
+
+    /**
+     * Method gets the floor of the lift once the change is done.
+     *
+     * @return                      floor number
+     */
+    public int getFloorNo() {
+        return floorNo;
+    }
+
+    /**
+     * Method gets the number of moves of a moving event.
+     *
+     * @return                      number of moves, 0 for the other types
+     */
+    public int getValue() {
+        return value;
+    }
+
+    /**
+     * Method gets the passenger of a boarding, alighting or returning event.
+     *
+     * @return                      Passenger object, null for the other types
+     */
+    public Passenger getPassenger() {
+        return passenger;
+    }
+
+    /**
+     * Method gets the time of the event.
+     *
+     * @return                      time in milliseconds
+     */
+    public long getTime() {
+        return time;
+    }
+}
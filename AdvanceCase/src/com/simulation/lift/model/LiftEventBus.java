@@ -0,0 +1,125 @@
+package com.simulation.lift.model;
+
+import com.simulation.lift.api.LiftEventType;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public class LiftEventBus {
+    /**
+     * Cursor of a consumer reading the bus at its own pace. A consumer falling behind by
+     * more than the capacity of the bus skips the overwritten events, it never slows the lifts down.
+     * A subscription is read by a single thread.
+     */
+    public class Subscription {
+        private long sequence;
+        private long droppedEvents;
+        private boolean isClosed;
+
+        private Subscription(long sequence) {
+            this.sequence = sequence;
+        }
+
+        /**
+         * Method gets the next event published on the bus.
+         *
+         * @return                      LiftEvent object, null if no event is ready
+         */
+        public LiftEvent poll() {
+            while (true) {
+                long claimed = cursor.get();
+                if (this.sequence >= claimed) {
+                    return null;
+                }
+                if (claimed - this.sequence > slots.length()) {
+                    this.droppedEvents += claimed - slots.length() - this.sequence;
+                    this.sequence = claimed - slots.length();
+                }
+
+                LiftEvent event = slots.get((int) this.sequence & mask);
+                if (event == null || event.getSequence() < this.sequence) {
+                    //the event is claimed but its lift has not stored it yet.
+                    return null;
+                }
+                if (event.getSequence() > this.sequence) {
+                    //the event has been overwritten before it was read.
+                    this.droppedEvents++;
+                    this.sequence++;
+                    continue;
+                }
+
+                this.sequence++;
+                return event;
+            }
+        }
+
+        /**
+         * Method gets the number of events overwritten before the consumer read them.
+         *
+         * @return                      dropped events
+         */
+        public long getDroppedEvents() {
+            return droppedEvents;
+        }
+
+        /**
+         * Method stops the subscription, the bus skips publishing once nobody is subscribed.
+         */
+        public void close() {
+            if (!this.isClosed) {
+                this.isClosed = true;
+                subscribers.decrementAndGet();
+            }
+        }
+    }
+
+    private final AtomicReferenceArray<LiftEvent> slots;
+    private final int mask;
+    private final AtomicLong cursor;
+    private final AtomicInteger subscribers;
+
+    /**
+     * Constructs an instance of the object containing the capacity argument.
+     *
+     * @param capacity              number of events kept for the consumers, a power of two
+     */
+    public LiftEventBus(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("The capacity must be a power of two: " + capacity);
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.cursor = new AtomicLong();
+        this.subscribers = new AtomicInteger();
+    }
+
+    /**
+     * Method subscribes a consumer, which reads the events published from now on.
+     *
+     * @return                      Subscription object
+     */
+    public Subscription subscribe() {
+        this.subscribers.incrementAndGet();
+        return new Subscription(this.cursor.get());
+    }
+
+    /**
+     * Method publishes a state change of a lift without blocking, overwriting the oldest event
+     * once the bus is full. Nothing is published while nobody is subscribed.
+     *
+     * @param type                  type of the state change
+     * @param lift                  Lift object publishing the event
+     * @param floorNo               floor of the lift once the change is done
+     * @param value                 number of moves, 0 for the other types
+     * @param passenger             boarding, alighting or returning passenger, null for the other types
+     * @param time                  time of the event in milliseconds
+     */
+    public void publish(LiftEventType type, Lift lift, int floorNo, int value, Passenger passenger, long time) {
+        if (this.subscribers.get() == 0) {
+            return;
+        }
+        long sequence = this.cursor.getAndIncrement();
+        this.slots.set((int) sequence & this.mask, new LiftEvent(sequence, type, lift, floorNo, value, passenger, time));
+    }
+}
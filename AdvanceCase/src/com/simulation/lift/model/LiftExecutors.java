@@ -0,0 +1,60 @@
+package com.simulation.lift.model;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public final class LiftExecutors {
+    /**
+     * System property choosing the threads running the lifts, "virtual" or "platform".
+     */
+    public static final String EXECUTOR_PROPERTY = "lift.executor";
+
+    private LiftExecutors() {
+    }
+
+    /**
+     * Method creates the executor running the control loops of the lifts, one thread per lift.
+     * A lift blocks while it waits for a hall call, so each loop needs a thread of its own.
+     * Virtual threads are used when the runtime has them, so thousands of lifts do not
+     * need as many OS threads, otherwise every lift gets a daemon platform thread.
+     *
+     * @return                          executor service
+     */
+    public static ExecutorService newLiftExecutor() {
+        if (!"platform".equals(System.getProperty(EXECUTOR_PROPERTY))) {
+            try {
+                //looked up by reflection, so the project still compiles and runs before Java 21.
+                Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (ExecutorService) method.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                //virtual threads are not available, platform threads are used instead.
+            }
+        }
+
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Method wraps the control loop of a lift, so its thread is named after the lift while it runs.
+     *
+     * @param lift                      Lift object
+     * @return                          runnable of the lift
+     */
+    public static Runnable named(Lift lift) {
+        return () -> {
+            Thread thread = Thread.currentThread();
+            String name = thread.getName();
+            thread.setName(lift.getName());
+            try {
+                lift.start();
+            } finally {
+                thread.setName(name);
+            }
+        };
+    }
+}
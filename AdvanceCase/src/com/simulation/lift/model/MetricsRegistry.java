@@ -0,0 +1,245 @@
+package com.simulation.lift.model;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Registry of the metrics of the lifts and floors, read by the UI while the lifts run.
+ *
+ * Every lift has a stripe of counters of its own, padded to 128 bytes so lifts running
+ * on different cores never share a cache line. A stripe is written by its lift only,
+ * under a sequence lock, so a reader sees the moves, boarded and alighted passengers
+ * and load of a lift as of the same transition without ever blocking the lift.
+ * The queue depths of the floors are read from the floors themselves.
+ * A single total is read on its own, without taking a snapshot.
+ */
+public class MetricsRegistry {
+    /**
+     * Consistent copy of the metrics, whose totals are computed once when it is taken.
+     */
+    public static final class Snapshot {
+        private final long[] moves;
+        private final long[] boards;
+        private final long[] alights;
+        private final long[] loads;
+        private final int[] queueDepths;
+        private final long totalMoves;
+        private final long totalBoardPassengers;
+        private final long totalAlightPassengers;
+        private final long totalWaitingPassengers;
+
+        private Snapshot(long[] moves, long[] boards, long[] alights, long[] loads, int[] queueDepths) {
+            this.moves = moves;
+            this.boards = boards;
+            this.alights = alights;
+            this.loads = loads;
+            this.queueDepths = queueDepths;
+            this.totalMoves = sum(moves);
+            this.totalBoardPassengers = sum(boards);
+            this.totalAlightPassengers = sum(alights);
+
+            long totalWaitingPassengers = 0;
+            for (int queueDepth : queueDepths) {
+                totalWaitingPassengers += queueDepth;
+            }
+            this.totalWaitingPassengers = totalWaitingPassengers;
+        }
+
+        public long getMoves(int lift) {
+            return this.moves[lift];
+        }
+
+        public long getBoardPassengers(int lift) {
+            return this.boards[lift];
+        }
+
+        public long getAlightPassengers(int lift) {
+            return this.alights[lift];
+        }
+
+        /**
+         * Method gets the weight a lift carries.
+         *
+         * @param lift                  index of the lift
+         * @return                      load of the lift
+         */
+        public long getLoad(int lift) {
+            return this.loads[lift];
+        }
+
+        /**
+         * Method gets the number of passengers waiting on a floor.
+         *
+         * @param floorNo               floor number
+         * @return                      queue depth
+         */
+        public int getQueueDepth(int floorNo) {
+            return this.queueDepths[floorNo - 1];
+        }
+
+        public long getTotalMoves() {
+            return totalMoves;
+        }
+
+        public long getTotalBoardPassengers() {
+            return totalBoardPassengers;
+        }
+
+        public long getTotalAlightPassengers() {
+            return totalAlightPassengers;
+        }
+
+        public long getTotalWaitingPassengers() {
+            return totalWaitingPassengers;
+        }
+
+        /**
+         * Method gets the moves per alighted passenger and per lift.
+         *
+         * @return                      cost, 0 if nobody has alighted
+         */
+        public double getCost() {
+            if (this.totalAlightPassengers == 0) {
+                return 0;
+            }
+            return (double) this.totalMoves / (this.totalAlightPassengers * this.moves.length);
+        }
+
+        private static long sum(long[] values) {
+            long sum = 0;
+            for (long value : values) {
+                sum += value;
+            }
+            return sum;
+        }
+    }
+
+    //a stripe holds the sequence, then the moves, boards, alights and load, then padding.
+    private static final int STRIPE_SIZE = 16;
+    private static final int SEQUENCE = 0;
+    private static final int MOVES = 1;
+    private static final int BOARDS = 2;
+    private static final int ALIGHTS = 3;
+    private static final int LOAD = 4;
+
+    private final AtomicLongArray stripes;
+    private final int maxLift;
+    private final Floor[] floors;
+
+    /**
+     * Constructs an instance of the object containing maxLift and floors arguments.
+     *
+     * @param maxLift               number of lifts
+     * @param floors                floors of the building
+     */
+    public MetricsRegistry(int maxLift, Floor[] floors) {
+        //a stripe of padding before the first lift keeps it off the line of the array's header.
+        this.stripes = new AtomicLongArray((maxLift + 1) * STRIPE_SIZE);
+        this.maxLift = maxLift;
+        this.floors = floors;
+    }
+
+    /**
+     * Method adds to the counters of a lift and sets its load, as a single change.
+     * Only the lift itself calls it, from the thread running it.
+     *
+     * @param lift                  index of the lift
+     * @param moves                 moves made
+     * @param boards                passengers boarded
+     * @param alights               passengers alighted
+     * @param load                  weight the lift carries
+     */
+    void update(int lift, int moves, int boards, int alights, int load) {
+        int stripe = (lift + 1) * STRIPE_SIZE;
+        long sequence = this.stripes.getPlain(stripe + SEQUENCE);
+        this.stripes.setOpaque(stripe + SEQUENCE, sequence + 1);
+        VarHandle.storeStoreFence();
+
+        this.stripes.setOpaque(stripe + MOVES, this.stripes.getPlain(stripe + MOVES) + moves);
+        this.stripes.setOpaque(stripe + BOARDS, this.stripes.getPlain(stripe + BOARDS) + boards);
+        this.stripes.setOpaque(stripe + ALIGHTS, this.stripes.getPlain(stripe + ALIGHTS) + alights);
+        this.stripes.setOpaque(stripe + LOAD, load);
+
+        this.stripes.setRelease(stripe + SEQUENCE, sequence + 2);
+    }
+
+    /**
+     * Method gets the moves of every lift, read without a snapshot.
+     *
+     * @return                      total moves
+     */
+    public long getTotalMoves() {
+        return total(MOVES);
+    }
+
+    /**
+     * Method gets the passengers boarded by every lift, read without a snapshot.
+     *
+     * @return                      total boarded passengers
+     */
+    public long getTotalBoardPassengers() {
+        return total(BOARDS);
+    }
+
+    /**
+     * Method gets the passengers alighted from every lift, read without a snapshot.
+     *
+     * @return                      total alighted passengers
+     */
+    public long getTotalAlightPassengers() {
+        return total(ALIGHTS);
+    }
+
+    /**
+     * Method copies the metrics of every lift, each as of a single change, and the queue depths.
+     * A caller needing several metrics takes one snapshot, so they are consistent with each other.
+     *
+     * @return                      Snapshot object
+     */
+    public Snapshot snapshot() {
+        long[] moves = new long[this.maxLift];
+        long[] boards = new long[this.maxLift];
+        long[] alights = new long[this.maxLift];
+        long[] loads = new long[this.maxLift];
+        for (int lift = 0; lift < this.maxLift; lift++) {
+            int stripe = (lift + 1) * STRIPE_SIZE;
+            while (true) {
+                long sequence = this.stripes.getAcquire(stripe + SEQUENCE);
+                if ((sequence & 1) != 0) {
+                    //the lift is updating its stripe.
+                    Thread.onSpinWait();
+                    continue;
+                }
+                moves[lift] = this.stripes.getOpaque(stripe + MOVES);
+                boards[lift] = this.stripes.getOpaque(stripe + BOARDS);
+                alights[lift] = this.stripes.getOpaque(stripe + ALIGHTS);
+                loads[lift] = this.stripes.getOpaque(stripe + LOAD);
+                VarHandle.loadLoadFence();
+                if (this.stripes.getOpaque(stripe + SEQUENCE) == sequence) {
+                    break;
+                }
+            }
+        }
+
+        int[] queueDepths = new int[this.floors.length];
+        for (int i = 0; i < queueDepths.length; i++) {
+            queueDepths[i] = this.floors[i].getPassengerCount();
+        }
+        return new Snapshot(moves, boards, alights, loads, queueDepths);
+    }
+
+    /**
+     * Method sums a counter over the stripes, a counter of a lift being a single value
+     * which needs no sequence lock.
+     *
+     * @param counter               offset of the counter in a stripe
+     * @return                      total of the counter
+     */
+    private long total(int counter) {
+        long total = 0;
+        for (int lift = 0; lift < this.maxLift; lift++) {
+            total += this.stripes.getOpaque((lift + 1) * STRIPE_SIZE + counter);
+        }
+        return total;
+    }
+}
@@ -7,6 +7,11 @@ public class Passenger {
     private final int sourceFloor;
     private final int destinationFloor;
 
+    private long arriveTime;
+    private long boardTime;
+    private long alightTime;
+    private int skips;
+
     /**
      * Constructs an instance of the object containing
      * weight, sourceFloor and destinationFloor arguments.
@@ -49,6 +54,112 @@ public class Passenger {
         return destinationFloor;
     }
 
+    /**
+     * Method gets the number of times a lift the passenger did not fit boarded others behind them.
+     *
+     * @return                      number of times
+     */
+    public int getSkips() {
+        return skips;
+    }
+
+    /**
+     * Method counts a time the passenger is passed over, their floor's queue being locked.
+     */
+    void skip() {
+        this.skips++;
+    }
+
+    /**
+     * Method gets the time the passenger arrived on their source floor.
+     *
+     * @return                      arrival time in milliseconds
+     */
+    public long getArriveTime() {
+        return arriveTime;
+    }
+
+    /**
+     * Method sets the time the passenger arrived on their source floor.
+     *
+     * @param arriveTime            arrival time in milliseconds
+     */
+    public void setArriveTime(long arriveTime) {
+        this.arriveTime = arriveTime;
+    }
+
+    /**
+     * Method gets the time the passenger boarded a lift.
+     *
+     * @return                      boarding time in milliseconds
+     */
+    public long getBoardTime() {
+        return boardTime;
+    }
+
+    /**
+     * Method sets the time the passenger boarded a lift.
+     *
+     * @param boardTime             boarding time in milliseconds
+     */
+    public void setBoardTime(long boardTime) {
+        this.boardTime = boardTime;
+    }
+
+    /**
+     * Method gets the time the passenger alighted on their destination floor.
+     *
+     * @return                      alighting time in milliseconds
+     */
+    public long getAlightTime() {
+        return alightTime;
+    }
+
+    /**
+     * Method sets the time the passenger alighted on their destination floor.
+     *
+     * @param alightTime            alighting time in milliseconds
+     */
+    public void setAlightTime(long alightTime) {
+        this.alightTime = alightTime;
+    }
+
+    /**
+     * Method gets the time the passenger waited for a lift.
+     *
+     * @return                      wait time in milliseconds
+     */
+    public long getWaitTime() {
+        return boardTime - arriveTime;
+    }
+
+    /**
+     * Method gets the time the passenger spent in the lift.
+     *
+     * @return                      ride time in milliseconds
+     */
+    public long getRideTime() {
+        return alightTime - boardTime;
+    }
+
+    /**
+     * Method gets the time from the passenger's arrival to their alighting.
+     *
+     * @return                      journey time in milliseconds
+     */
+    public long getJourneyTime() {
+        return alightTime - arriveTime;
+    }
+
+    /**
+     * Method gets the direction the passenger is travelling in.
+     *
+     * @return                      UP or DOWN
+     */
+    public Lift.LiftMode getDirection() {
+        return destinationFloor > sourceFloor ? Lift.LiftMode.UP : Lift.LiftMode.DOWN;
+    }
+
     /**
      * Methods checks whether if a given passenger object exists.
      *
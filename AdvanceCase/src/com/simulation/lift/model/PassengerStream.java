@@ -0,0 +1,82 @@
+package com.simulation.lift.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stream of the passengers of a non-auto run, drawn lazily in chunks.
+ *
+ * Instead of every passenger being created when the run starts, a chunk is drawn at first
+ * and the next one once half of the waiting passengers have boarded, so the memory used
+ * is bounded by the chunk size rather than by the number of passengers of the run.
+ * A run of no more than a chunk of passengers gets them all at once, as before.
+ * The lifts may board passengers from several threads, drawing is synchronized.
+ */
+public class PassengerStream {
+    /**
+     * Maximum number of passengers drawn at once.
+     */
+    public static final int CHUNK_SIZE = 4096;
+
+    private final TrafficGenerator traffic;
+    private final AtomicLong waitingPassengers;
+    private volatile long remainingPassengers;
+
+    /**
+     * Constructs an instance of the object containing traffic and passengerNo arguments.
+     *
+     * @param traffic               generator drawing the passengers
+     * @param passengerNo           number of passengers of the run
+     */
+    public PassengerStream(TrafficGenerator traffic, long passengerNo) {
+        this.traffic = traffic;
+        this.waitingPassengers = new AtomicLong();
+        this.remainingPassengers = passengerNo;
+    }
+
+    /**
+     * Method gets the number of passengers not drawn yet.
+     *
+     * @return                      number of passengers
+     */
+    public long getRemainingPassengers() {
+        return remainingPassengers;
+    }
+
+    /**
+     * Method counts the passengers who have boarded a lift, so are no longer waiting.
+     *
+     * @param passengers            number of passengers
+     */
+    public void board(int passengers) {
+        this.waitingPassengers.addAndGet(-passengers);
+    }
+
+    /**
+     * Method draws the next chunk of passengers when no more than half a chunk is waiting.
+     * The caller adds them to their source floors.
+     *
+     * @return                      list of passengers, empty when enough are waiting or all are drawn
+     */
+    public List<Passenger> next() {
+        if (this.remainingPassengers == 0 || this.waitingPassengers.get() > CHUNK_SIZE / 2) {
+            return Collections.emptyList();
+        }
+        synchronized (this) {
+            //another lift may have drawn the chunk in the meantime.
+            if (this.remainingPassengers == 0 || this.waitingPassengers.get() > CHUNK_SIZE / 2) {
+                return Collections.emptyList();
+            }
+            int size = (int) Math.min(CHUNK_SIZE, this.remainingPassengers);
+            List<Passenger> chunk = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                chunk.add(this.traffic.nextPassenger());
+            }
+            this.waitingPassengers.addAndGet(size);
+            this.remainingPassengers -= size;
+            return chunk;
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.simulation.lift.model;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Clock of a front-end run, turning real time into simulated time.
+ *
+ * Simulated time passes at a speed multiple of real time, which can be changed while the lifts run.
+ * At max speed the lifts no longer wait out their transitions. Once every active lift waits for
+ * the end of its transition, the clock jumps to the earliest end, as a discrete-event engine would,
+ * so the lifts share one timeline. A paused clock holds the lifts until it is resumed, or moved on
+ * a step at a time. The lifts may run on virtual threads, so waiting uses a lock and condition.
+ */
+public class SimulationClock {
+    /**
+     * Slowest speed of the clock.
+     */
+    public static final double MIN_SPEED = 0.25;
+
+    /**
+     * Fastest speed of the clock, short of max speed.
+     */
+    public static final double MAX_SPEED = 1000;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+
+    //simulated time at the last change, and the real time of that change.
+    private double anchorTime;
+    private long anchorNanos;
+    private double speed;
+    private boolean isMaxSpeed;
+    private boolean isPaused;
+    private boolean isClosed;
+    //lifts running a transition or waiting for its end, and the ends waited for.
+    private int activeLifts;
+    private final PriorityQueue<Double> endTimes = new PriorityQueue<>();
+
+    /**
+     * Constructs an instance of the object starting at time 0 with the speed argument.
+     *
+     * @param speed                 simulated milliseconds passing in a real millisecond
+     */
+    public SimulationClock(double speed) {
+        this.speed = checkSpeed(speed);
+        this.anchorNanos = System.nanoTime();
+    }
+
+    /**
+     * Method gets the simulated time since the clock started.
+     *
+     * @return                      time in milliseconds
+     */
+    public long getTime() {
+        lock.lock();
+        try {
+            return (long) time();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method gets the speed of the clock, ignoring max speed.
+     *
+     * @return                      simulated milliseconds passing in a real millisecond
+     */
+    public double getSpeed() {
+        lock.lock();
+        try {
+            return speed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method sets the speed of the clock and leaves max speed.
+     *
+     * @param speed                 simulated milliseconds passing in a real millisecond,
+     *                              between MIN_SPEED and MAX_SPEED
+     */
+    public void setSpeed(double speed) {
+        checkSpeed(speed);
+        lock.lock();
+        try {
+            reanchor(time());
+            this.speed = speed;
+            this.isMaxSpeed = false;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isMaxSpeed() {
+        lock.lock();
+        try {
+            return isMaxSpeed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method runs the clock at max speed, or back at its speed.
+     *
+     * @param isMaxSpeed            is the clock at max speed
+     */
+    public void setMaxSpeed(boolean isMaxSpeed) {
+        lock.lock();
+        try {
+            reanchor(time());
+            this.isMaxSpeed = isMaxSpeed;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isPaused() {
+        lock.lock();
+        try {
+            return isPaused;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method pauses or resumes the clock.
+     *
+     * @param isPaused              is the clock paused
+     */
+    public void setPaused(boolean isPaused) {
+        lock.lock();
+        try {
+            reanchor(time());
+            this.isPaused = isPaused;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method moves a paused clock on, releasing the lifts whose transitions end by then.
+     *
+     * @param duration              simulated time in milliseconds
+     */
+    public void step(long duration) {
+        lock.lock();
+        try {
+            if (this.isPaused) {
+                reanchor(time() + duration);
+                changed.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method closes the clock, so no lift waits on it anymore, even when it is paused.
+     */
+    public void close() {
+        lock.lock();
+        try {
+            this.isClosed = true;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method counts a lift as active, so at max speed the time waits for its transitions.
+     */
+    public void activate() {
+        lock.lock();
+        try {
+            this.activeLifts++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method stops counting a lift as active, when it waits for a call or has stopped.
+     */
+    public void deactivate() {
+        lock.lock();
+        try {
+            this.activeLifts--;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method holds the calling lift for a simulated duration, following the changes
+     * of speed and pauses made meanwhile.
+     *
+     * @param duration                  simulated duration in milliseconds
+     * @throws InterruptedException     if the thread is interrupted while waiting
+     */
+    public void sleep(long duration) throws InterruptedException {
+        lock.lock();
+        Double endTime = time() + duration;
+        this.endTimes.add(endTime);
+        try {
+            while (!this.isClosed) {
+                double remaining = endTime - time();
+                if (remaining <= 0) {
+                    return;
+                }
+                if (this.isPaused) {
+                    changed.await();
+                } else if (this.isMaxSpeed && this.endTimes.size() >= this.activeLifts
+                        && this.endTimes.peek() > time()) {
+                    //every active lift waits, the time moves on to the first transition to end.
+                    reanchor(this.endTimes.peek());
+                    changed.signalAll();
+                } else {
+                    double speed = this.isMaxSpeed ? MAX_SPEED : this.speed;
+                    changed.awaitNanos(Math.max(1, (long) (remaining / speed * TimeUnit.MILLISECONDS.toNanos(1))));
+                }
+            }
+        } finally {
+            this.endTimes.remove(endTime);
+            changed.signalAll();
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method gets the simulated time, the lock being held. At max speed, the time also
+     * passes at MAX_SPEED, so the passengers keep arriving while every lift waits for a call.
+     */
+    private double time() {
+        if (this.isPaused) {
+            return this.anchorTime;
+        }
+        double elapsed = (System.nanoTime() - this.anchorNanos) / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        return this.anchorTime + elapsed * (this.isMaxSpeed ? MAX_SPEED : this.speed);
+    }
+
+    /**
+     * Method restarts the passing of time from a simulated time, never going back.
+     */
+    private void reanchor(double time) {
+        this.anchorTime = Math.max(time, time());
+        this.anchorNanos = System.nanoTime();
+    }
+
+    private static double checkSpeed(double speed) {
+        if (!(speed >= MIN_SPEED && speed <= MAX_SPEED)) {
+            throw new IllegalArgumentException("The speed must be between " + MIN_SPEED + " and " + MAX_SPEED + ".");
+        }
+        return speed;
+    }
+}
@@ -0,0 +1,165 @@
+package com.simulation.lift.model;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+public class SimulationEngine {
+    /**
+     * Event waiting in the queue, either a lift transition or a passenger arrival.
+     */
+    private static final class Event implements Comparable<Event> {
+        private final long time;
+        private final long sequence;
+        private final Lift lift;
+        private final Passenger passenger;
+
+        private Event(long time, long sequence, Lift lift, Passenger passenger) {
+            this.time = time;
+            this.sequence = sequence;
+            this.lift = lift;
+            this.passenger = passenger;
+        }
+
+        @Override
+        public int compareTo(Event o) {
+            if (this.time != o.time) {
+                return Long.compare(this.time, o.time);
+            }
+            return Long.compare(this.sequence, o.sequence);
+        }
+    }
+
+    private final Floor[] floors;
+    private final Dispatcher dispatcher;
+    private final PriorityQueue<Event> events;
+    private final Set<Lift> scheduledLifts;
+
+    private Lift steppingLift;
+    private boolean isSteppingLiftWoken;
+
+    private long time;
+    private long sequence;
+    private long processedEvents;
+
+    /**
+     * Constructs an instance of the object containing the floors and dispatcher arguments.
+     *
+     * @param floors                floors of the building
+     * @param dispatcher            dispatcher assigning the passengers' calls
+     */
+    public SimulationEngine(Floor[] floors, Dispatcher dispatcher) {
+        this.floors = floors;
+        this.dispatcher = dispatcher;
+        this.events = new PriorityQueue<>();
+        this.scheduledLifts = Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    /**
+     * Method gets the current virtual time of the simulation.
+     *
+     * @return                      virtual time in milliseconds
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * Method gets the number of events processed so far.
+     *
+     * @return                      processed events
+     */
+    public long getProcessedEvents() {
+        return processedEvents;
+    }
+
+    /**
+     * Method attaches a lift to the engine and schedules its first transition.
+     *
+     * @param lift                  Lift object
+     */
+    public void addLift(Lift lift) {
+        lift.setEngine(this);
+        lift.begin();
+        scheduleLift(lift, 0);
+    }
+
+    /**
+     * Method schedules a passenger to arrive on their source floor and call a lift.
+     *
+     * @param arriveTime            virtual arrival time in milliseconds
+     * @param passenger             Passenger object
+     */
+    public void schedulePassenger(long arriveTime, Passenger passenger) {
+        this.events.add(new Event(Math.max(arriveTime, this.time), this.sequence++, null, passenger));
+    }
+
+    /**
+     * Method wakes a waiting lift, as a hall call has been registered.
+     *
+     * @param lift                  Lift object
+     */
+    void wake(Lift lift) {
+        if (lift == this.steppingLift) {
+            this.isSteppingLiftWoken = true;
+        } else if (lift.isRunning()) {
+            scheduleLift(lift, 0);
+        }
+    }
+
+    /**
+     * Method runs the events in time order until none are left.
+     */
+    public void run() {
+        while (!this.events.isEmpty()) {
+            Event event = this.events.poll();
+            this.time = event.time;
+            this.processedEvents++;
+
+            if (event.passenger != null) {
+                event.passenger.setArriveTime(this.time);
+                this.floors[event.passenger.getSourceFloor() - 1].addNewPassenger(event.passenger);
+                this.dispatcher.assign(event.passenger.getSourceFloor(), event.passenger.getDirection());
+            } else {
+                fire(event.lift);
+            }
+        }
+    }
+
+    /**
+     * Method performs one transition of a lift and schedules the next one,
+     * unless the lift has stopped or is waiting for a hall call.
+     *
+     * @param lift                  Lift object
+     */
+    private void fire(Lift lift) {
+        this.scheduledLifts.remove(lift);
+        if (!lift.isRunning()) {
+            return;
+        }
+
+        this.steppingLift = lift;
+        this.isSteppingLiftWoken = false;
+        long duration = lift.step();
+        this.steppingLift = null;
+
+        if (!lift.isRunning()) {
+            lift.end();
+        } else if (lift.getLiftMode() != Lift.LiftMode.WAIT || this.isSteppingLiftWoken) {
+            scheduleLift(lift, duration);
+        }
+    }
+
+    /**
+     * Method queues the next transition of a lift, once at most.
+     *
+     * @param lift                  Lift object
+     * @param delay                 virtual delay in milliseconds
+     */
+    private void scheduleLift(Lift lift, long delay) {
+        if (this.scheduledLifts.add(lift)) {
+            this.events.add(new Event(this.time + delay, this.sequence++, lift, null));
+        }
+    }
+}
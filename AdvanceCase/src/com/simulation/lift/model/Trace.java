@@ -0,0 +1,319 @@
+package com.simulation.lift.model;
+
+import com.simulation.lift.api.LiftEventType;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Trace of a run read through memory-mapped buffers, so a run can be replayed, sought and
+ * scrubbed without running the simulation again.
+ *
+ * The file starts with a magic number, a version, the maximum floor, the number of lifts,
+ * the lift capacity (int), a padding int and the number of records (long), followed by
+ * little-endian records in time order: virtual time (long), lift index (unsigned short),
+ * event type ordinal and passenger weight (unsigned byte), floor number and value (unsigned short).
+ * The value is the number of moves of a moving lift, the destination floor of a boarding passenger
+ * and the source floor of an alighting passenger.
+ *
+ * Snapshots of the lifts are taken every few thousand records when the trace is opened,
+ * so seeking replays at most one interval of records.
+ */
+public class Trace {
+    /**
+     * State of the lifts at a position of the trace.
+     */
+    public static final class State {
+        private final int[] floors;
+        private final boolean[] isDoorOpen;
+        private int index;
+        private int totalBoardPassengers;
+        private int totalAlightPassengers;
+        private int totalLiftMoves;
+
+        private State(int maxLift) {
+            this.floors = new int[maxLift];
+            this.isDoorOpen = new boolean[maxLift];
+            Arrays.fill(this.floors, 1);
+        }
+
+        private void copy(State state) {
+            System.arraycopy(state.floors, 0, this.floors, 0, this.floors.length);
+            System.arraycopy(state.isDoorOpen, 0, this.isDoorOpen, 0, this.isDoorOpen.length);
+            this.index = state.index;
+            this.totalBoardPassengers = state.totalBoardPassengers;
+            this.totalAlightPassengers = state.totalAlightPassengers;
+            this.totalLiftMoves = state.totalLiftMoves;
+        }
+
+        /**
+         * Method gets the number of records applied to the state.
+         *
+         * @return                      index of the next record
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * Method gets the floor of a lift.
+         *
+         * @param lift                  index of the lift
+         * @return                      floor number
+         */
+        public int getFloor(int lift) {
+            return this.floors[lift];
+        }
+
+        /**
+         * Method gets whether the door of a lift is open.
+         *
+         * @param lift                  index of the lift
+         * @return                      is the door open
+         */
+        public boolean isDoorOpen(int lift) {
+            return this.isDoorOpen[lift];
+        }
+
+        public int getTotalBoardPassengers() {
+            return totalBoardPassengers;
+        }
+
+        public int getTotalAlightPassengers() {
+            return totalAlightPassengers;
+        }
+
+        public int getTotalLiftMoves() {
+            return totalLiftMoves;
+        }
+    }
+
+    static final int MAGIC = 0x4C545243;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 6 * Integer.BYTES + Long.BYTES;
+    static final int RECORD_SIZE = Long.BYTES + 4 * Short.BYTES;
+    static final int MAX_VALUE = 0xFFFF;
+
+    private static final int SEGMENT_SHIFT = 26;
+    private static final int MAX_CHECKPOINTS = 4096;
+    private static final LiftEventType[] TYPES = LiftEventType.values();
+
+    private final int maxFloor;
+    private final int maxLift;
+    private final int liftWeight;
+    private final int recordCount;
+    private final MappedByteBuffer[] segments;
+    private final int checkpointShift;
+    private final State[] checkpoints;
+
+    private Trace(int maxFloor, int maxLift, int liftWeight, int recordCount, MappedByteBuffer[] segments) {
+        this.maxFloor = maxFloor;
+        this.maxLift = maxLift;
+        this.liftWeight = liftWeight;
+        this.recordCount = recordCount;
+        this.segments = segments;
+
+        //at most MAX_CHECKPOINTS snapshots, taken every 4096 records at least.
+        int shift = 12;
+        while ((recordCount >>> shift) >= MAX_CHECKPOINTS) {
+            shift++;
+        }
+        this.checkpointShift = shift;
+        this.checkpoints = new State[(recordCount >>> shift) + 1];
+
+        State state = new State(maxLift);
+        this.checkpoints[0] = new State(maxLift);
+        for (int i = 1; i < this.checkpoints.length; i++) {
+            advance(state, i << shift);
+            this.checkpoints[i] = new State(maxLift);
+            this.checkpoints[i].copy(state);
+        }
+    }
+
+    /**
+     * Method opens a trace file written by a {@link TraceRecorder}.
+     *
+     * @param path                      path of the file
+     * @return                          Trace object
+     * @throws IOException              if the file cannot be read or is not a complete trace
+     */
+    public static Trace open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(), HEADER_SIZE));
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            if (header.limit() < HEADER_SIZE || header.getInt(0) != MAGIC || header.getInt(Integer.BYTES) != VERSION) {
+                throw new IOException("Not a trace file: " + path);
+            }
+            long recordCount = header.getLong(HEADER_SIZE - Long.BYTES);
+            if (recordCount > Integer.MAX_VALUE || HEADER_SIZE + recordCount * RECORD_SIZE > channel.size()) {
+                throw new IOException("The trace is incomplete: " + path);
+            }
+
+            int segmentRecords = 1 << SEGMENT_SHIFT;
+            MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((recordCount + segmentRecords - 1) >>> SEGMENT_SHIFT)];
+            for (int i = 0; i < segments.length; i++) {
+                long records = Math.min(segmentRecords, recordCount - ((long) i << SEGMENT_SHIFT));
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + ((long) i << SEGMENT_SHIFT) * RECORD_SIZE, records * RECORD_SIZE);
+                segments[i].order(ByteOrder.LITTLE_ENDIAN);
+            }
+            return new Trace(header.getInt(2 * Integer.BYTES), header.getInt(3 * Integer.BYTES), header.getInt(4 * Integer.BYTES), (int) recordCount, segments);
+        }
+    }
+
+    public int getMaxFloor() {
+        return maxFloor;
+    }
+
+    public int getMaxLift() {
+        return maxLift;
+    }
+
+    public int getLiftWeight() {
+        return liftWeight;
+    }
+
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Method gets the virtual time of the last record.
+     *
+     * @return                          duration in milliseconds
+     */
+    public long getDuration() {
+        return this.recordCount == 0 ? 0 : getTime(this.recordCount - 1);
+    }
+
+    public long getTime(int index) {
+        return segment(index).getLong(offset(index));
+    }
+
+    public int getLift(int index) {
+        return segment(index).getShort(offset(index) + Long.BYTES) & MAX_VALUE;
+    }
+
+    public LiftEventType getType(int index) {
+        return TYPES[segment(index).get(offset(index) + Long.BYTES + Short.BYTES)];
+    }
+
+    public int getFloorNo(int index) {
+        return segment(index).getShort(offset(index) + Long.BYTES + 2 * Short.BYTES) & MAX_VALUE;
+    }
+
+    public int getValue(int index) {
+        return segment(index).getShort(offset(index) + Long.BYTES + 3 * Short.BYTES) & MAX_VALUE;
+    }
+
+    /**
+     * Method rebuilds the passenger of a boarding or alighting record.
+     *
+     * @param index                     index of the record
+     * @return                          Passenger object, null for the other types
+     */
+    public Passenger getPassenger(int index) {
+        int weight = segment(index).get(offset(index) + Long.BYTES + Short.BYTES + 1) & 0xFF;
+        switch (getType(index)) {
+            case BOARD:
+                return new Passenger(weight, getFloorNo(index), getValue(index));
+            case ALIGHT:
+                return new Passenger(weight, getValue(index), getFloorNo(index));
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Method finds the number of records up to a virtual time, by a binary search.
+     *
+     * @param time                      virtual time in milliseconds
+     * @return                          index of the first record after the time
+     */
+    public int indexAfter(long time) {
+        int low = 0;
+        int high = this.recordCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (getTime(middle) <= time) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Method creates the state of the lifts before the first record.
+     *
+     * @return                          State object
+     */
+    public State newState() {
+        return new State(this.maxLift);
+    }
+
+    /**
+     * Method moves a state to a position of the trace, from the closest snapshot before it.
+     *
+     * @param state                     State object
+     * @param index                     index of the next record
+     */
+    public void seek(State state, int index) {
+        index = Math.max(0, Math.min(index, this.recordCount));
+        if (index < state.index || (index >>> this.checkpointShift) > (state.index >>> this.checkpointShift)) {
+            state.copy(this.checkpoints[index >>> this.checkpointShift]);
+        }
+        advance(state, index);
+    }
+
+    /**
+     * Method applies the records to a state up to a position of the trace.
+     *
+     * @param state                     State object
+     * @param index                     index of the next record, after the index of the state
+     */
+    public void advance(State state, int index) {
+        for (int i = state.index; i < index; i++) {
+            int lift = getLift(i);
+            switch (getType(i)) {
+                case UP_MOVES:
+                case DOWN_MOVES:
+                    state.floors[lift] = getFloorNo(i);
+                    state.totalLiftMoves += getValue(i);
+                    break;
+                case OPEN_DOOR:
+                    state.isDoorOpen[lift] = true;
+                    break;
+                case CLOSE_DOOR:
+                    state.isDoorOpen[lift] = false;
+                    break;
+                case BOARD:
+                    state.totalBoardPassengers++;
+                    break;
+                case ALIGHT:
+                    state.totalAlightPassengers++;
+                    break;
+                case STARTED:
+                case STOPPED:
+                    state.floors[lift] = getFloorNo(i);
+                    break;
+                default:
+                    break;
+            }
+        }
+        state.index = Math.max(state.index, index);
+    }
+
+    private MappedByteBuffer segment(int index) {
+        return this.segments[index >>> SEGMENT_SHIFT];
+    }
+
+    private static int offset(int index) {
+        return (index & ((1 << SEGMENT_SHIFT) - 1)) * RECORD_SIZE;
+    }
+}
@@ -0,0 +1,130 @@
+package com.simulation.lift.model;
+
+import com.simulation.lift.api.LiftEventType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Recorder writing the state changes of the lifts of a run into a memory-mapped trace file,
+ * which {@link Trace} reads back to replay the run. See {@link Trace} for the layout of the file.
+ * A recorder is written by a single thread, the discrete-event engine of a backend run.
+ */
+public class TraceRecorder implements Closeable {
+    private static final int REGION_RECORDS = 1 << 20;
+
+    private final FileChannel channel;
+    private MappedByteBuffer region;
+    private long regionStart;
+    private long recordCount;
+
+    /**
+     * Constructs an instance of the object recording into the given file, which is replaced,
+     * for a building of maxFloor floors and maxLift lifts of liftWeight capacity.
+     *
+     * @param path                      path of the file
+     * @param maxFloor                  maximum floor number
+     * @param maxLift                   number of lifts
+     * @param liftWeight                maximum lift capacity
+     * @throws IOException              if the file cannot be opened
+     */
+    public TraceRecorder(Path path, int maxFloor, int maxLift, int liftWeight) throws IOException {
+        if (maxFloor > Trace.MAX_VALUE || maxLift > Trace.MAX_VALUE) {
+            throw new IllegalArgumentException("A trace holds at most " + Trace.MAX_VALUE + " floors and lifts.");
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+
+        ByteBuffer header = ByteBuffer.allocate(Trace.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(Trace.MAGIC).putInt(Trace.VERSION).putInt(maxFloor).putInt(maxLift).putInt(liftWeight).putInt(0).putLong(0).flip();
+        while (header.hasRemaining()) {
+            this.channel.write(header);
+        }
+        mapRegion(Trace.HEADER_SIZE);
+    }
+
+    /**
+     * Method records a state change of a lift.
+     *
+     * @param type                      type of the state change
+     * @param lift                      index of the lift
+     * @param floorNo                   floor of the lift once the change is done
+     * @param value                     number of moves, 0 for the other types
+     * @param passenger                 boarding or alighting passenger, null for the other types
+     * @param time                      virtual time of the change in milliseconds
+     */
+    public void record(LiftEventType type, int lift, int floorNo, int value, Passenger passenger, long time) {
+        if (!this.region.hasRemaining()) {
+            mapRegion(this.regionStart + this.region.capacity());
+        }
+
+        int weight = 0;
+        if (passenger != null) {
+            weight = Math.min(passenger.getWeight(), 0xFF);
+            value = type == LiftEventType.ALIGHT ? passenger.getSourceFloor() : passenger.getDestinationFloor();
+        }
+        this.region.putLong(time)
+                .putShort((short) lift)
+                .put((byte) type.ordinal())
+                .put((byte) weight)
+                .putShort((short) floorNo)
+                .putShort((short) value);
+        this.recordCount++;
+    }
+
+    /**
+     * Method gets the number of records written so far.
+     *
+     * @return                          number of records
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Method completes the file with the number of records and cuts off the unused part of the last region.
+     *
+     * @throws IOException              if the file cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            this.region.force();
+            ByteBuffer count = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            count.putLong(this.recordCount).flip();
+            while (count.hasRemaining()) {
+                this.channel.write(count, Trace.HEADER_SIZE - Long.BYTES + count.position());
+            }
+            this.region = null;
+            try {
+                this.channel.truncate(Trace.HEADER_SIZE + this.recordCount * Trace.RECORD_SIZE);
+            } catch (IOException e) {
+                //some systems cannot cut a file still mapped, the reader relies on the count instead.
+            }
+            this.channel.force(true);
+        } finally {
+            this.channel.close();
+        }
+    }
+
+    /**
+     * Method maps the region of the file receiving the next records, growing the file.
+     *
+     * @param start                     position of the region in the file
+     */
+    private void mapRegion(long start) {
+        try {
+            this.region = this.channel.map(FileChannel.MapMode.READ_WRITE, start, (long) REGION_RECORDS * Trace.RECORD_SIZE);
+            this.region.order(ByteOrder.LITTLE_ENDIAN);
+            this.regionStart = start;
+        } catch (IOException e) {
+            throw new UncheckedIOException("The trace cannot grow: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.simulation.lift.model;
+
+import java.util.SplittableRandom;
+
+/**
+ * Generator of the passengers of a run, drawn from a master seed.
+ *
+ * The source floors, destination floors, weights and arrivals are each drawn from their own
+ * stream split from the master seed, so two runs with the same seed get the same passengers,
+ * and a change to how one of them is drawn leaves the others as they were.
+ * A generator belongs to a single thread, parallel runs each use a generator of their own.
+ */
+public class TrafficGenerator {
+    private static final int MIN_WEIGHT = 50;
+    private static final int MAX_WEIGHT = 170;
+
+    private final long seed;
+    private final int maxFloor;
+    private final int liftWeight;
+    private final SplittableRandom sourceFloors;
+    private final SplittableRandom destinationFloors;
+    private final SplittableRandom weights;
+    private final SplittableRandom arrivals;
+
+    /**
+     * Constructs an instance of the object containing seed, maxFloor and liftWeight arguments.
+     *
+     * @param seed                  master seed
+     * @param maxFloor              maximum floor number
+     * @param liftWeight            maximum lift capacity, no passenger is heavier
+     */
+    public TrafficGenerator(long seed, int maxFloor, int liftWeight) {
+        this.seed = seed;
+        this.maxFloor = maxFloor;
+        this.liftWeight = liftWeight;
+
+        SplittableRandom master = new SplittableRandom(seed);
+        this.sourceFloors = master.split();
+        this.destinationFloors = master.split();
+        this.weights = master.split();
+        this.arrivals = master.split();
+    }
+
+    /**
+     * Method derives the seed of a run from a master seed and a key identifying the run,
+     * so every run of a sweep gets its own passengers whatever order the runs are done in.
+     *
+     * @param seed                  master seed
+     * @param key                   key of the run
+     * @return                      seed of the run
+     */
+    public static long seedOf(long seed, long key) {
+        return new SplittableRandom(seed + key * 0x9E3779B97F4A7C15L).nextLong();
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Method draws a new passenger, arriving on a random floor for another floor.
+     *
+     * @return                      Passenger object
+     */
+    public Passenger nextPassenger() {
+        int sourceFloor = nextSourceFloor();
+        return new Passenger(nextWeight(), sourceFloor, nextDestinationFloor(sourceFloor));
+    }
+
+    /**
+     * Method draws a random source floor.
+     *
+     * @return                      floor number
+     */
+    public int nextSourceFloor() {
+        return this.sourceFloors.nextInt(this.maxFloor) + 1;
+    }
+
+    /**
+     * Method draws a random destination floor, other than the source floor.
+     *
+     * @param sourceFloor           source floor
+     * @return                      floor number
+     */
+    public int nextDestinationFloor(int sourceFloor) {
+        int destinationFloor = this.destinationFloors.nextInt(this.maxFloor - 1) + 1;
+        return destinationFloor >= sourceFloor ? destinationFloor + 1 : destinationFloor;
+    }
+
+    /**
+     * Method draws a random passenger's weight, which the lift can carry.
+     *
+     * @return                      weight
+     */
+    public int nextWeight() {
+        return this.weights.nextInt(MIN_WEIGHT, Math.min(MAX_WEIGHT, this.liftWeight + 1));
+    }
+
+    /**
+     * Method draws the number of passengers arriving together, at least one.
+     *
+     * @param passengerVolume       maximum number of passengers
+     * @return                      number of passengers
+     */
+    public int nextArrivals(int passengerVolume) {
+        return this.arrivals.nextInt(passengerVolume) + 1;
+    }
+}
@@ -1,17 +1,32 @@
 package com.simulation.lift.panel;
 
-import com.simulation.lift.api.LiftListener;
+import com.simulation.lift.api.IndexedLiftListener;
+import com.simulation.lift.api.LiftEventType;
+import com.simulation.lift.log.EventLog;
+import com.simulation.lift.log.LogEvent;
 import com.simulation.lift.model.Building;
-import com.simulation.lift.model.Floor;
 import com.simulation.lift.model.Lift;
+import com.simulation.lift.model.LiftEvent;
+import com.simulation.lift.model.LiftEventBus;
+import com.simulation.lift.model.LiftExecutors;
+import com.simulation.lift.model.MetricsRegistry;
 import com.simulation.lift.model.Passenger;
+import com.simulation.lift.model.PassengerStream;
+import com.simulation.lift.model.SimulationClock;
+import com.simulation.lift.model.Trace;
+import com.simulation.lift.model.TrafficGenerator;
 
 import javax.swing.*;
 import java.awt.*;
-import java.util.Arrays;
-import java.util.Random;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+public class BuildingPanel extends JPanel implements IndexedLiftListener {
+    /**
+     * Number of records per lift a replay frame animates, beyond which the lifts jump.
+     */
+    private static final int REPLAY_FRAME_RECORDS = 16;
 
-public class BuildingPanel extends JPanel implements LiftListener {
     private final int x;
     private final int y;
     private final int width;
@@ -22,11 +37,19 @@ public class BuildingPanel extends JPanel implements LiftListener {
     private final LiftPanel[] liftPanels;
     private final FloorPanel[] floorPanels;
 
-    private Random random;
     private Timer passengerTimer;
+    private PassengerStream passengerStream;
     private Timer timer;
-    private int refreshCounter;
-    private int timeElapsedInSecs;
+    private Timer animationTimer;
+    private ExecutorService liftExecutor;
+    private final LiftEventBus.Subscription events;
+    private final Trace trace;
+    private final Trace.State replayState;
+    private long replayTime;
+    private double replaySpeed;
+    private boolean isReplayPaused;
+    private long lastFrameTime;
+    private long nextPassengerTime;
     private final int passengerVolume;
     private final int maxFloor;
     private final int maxLift;
@@ -36,7 +59,7 @@ public class BuildingPanel extends JPanel implements LiftListener {
 
     /**
      * Constructs an instance of the object containing x, y, width, height,
-     * backgroundColor, maxFloor, maxLift, liftWeight and passengerVolume arguments.
+     * backgroundColor, maxFloor, maxLift, liftWeight, passengerVolume, isAuto and seed arguments.
      *
      * @param x                         panel's starting x value
      * @param y                         panel's starting y value
@@ -47,8 +70,9 @@ public class BuildingPanel extends JPanel implements LiftListener {
      * @param liftWeight                maximum lift capacity
      * @param passengerVolume           volume of passengers
      * @param isAuto                    is the program auto
+     * @param seed                      seed of the passengers' generator
      */
-    public BuildingPanel(int x, int y, int width, int height, Color backgroundColor, int maxFloor, int maxLift, int liftWeight, int passengerVolume, boolean isAuto) {
+    public BuildingPanel(int x, int y, int width, int height, Color backgroundColor, int maxFloor, int maxLift, int liftWeight, int passengerVolume, boolean isAuto, long seed) {
         this.isAuto = isAuto;
 
         this.x = x;
@@ -56,50 +80,102 @@ public class BuildingPanel extends JPanel implements LiftListener {
         this.width = width;
         this.height = height - 20;
         this.backgroundColor = backgroundColor;
-        this.building = new Building( maxFloor, this.height / maxFloor, width/2, maxLift, this.height / maxFloor,width/(2*maxLift), liftWeight, this.isAuto);
+        this.building = new Building( maxFloor, this.height / maxFloor, width/2, maxLift, this.height / maxFloor,width/(2*maxLift), liftWeight, this.isAuto, seed);
 
         this.floorPanels = new FloorPanel[maxFloor];
         this.liftPanels = new LiftPanel[maxLift];
 
         this.passengerVolume = passengerVolume;
-        this.refreshCounter = 0;
-        this.timeElapsedInSecs = 0;
+        this.nextPassengerTime = Building.AUTO_PASSENGER_PERIOD;
         this.maxFloor = maxFloor;
         this.maxLift = maxLift;
         this.liftWeight = liftWeight;
 
-        this.random = new Random();
-
         setLayout(null);
         setBounds(x, y, width, height);
         repaint();
         init();
 
         if(this.isAuto) {
+            //new passengers arrive every period of simulated time, however fast the clock runs.
             this.passengerTimer = new Timer(100, (e) -> {
-                this.refreshCounter += 100;
-                if (this.refreshCounter / 1000 == 1) {
-                    this.refreshCounter = 0;
-                    this.timeElapsedInSecs++;
-                    if (this.timeElapsedInSecs % 5 == 0) {
-                        generateNewPassengers();
-                    }
+                long time = this.building.getTime();
+                while (time >= this.nextPassengerTime) {
+                    this.nextPassengerTime += Building.AUTO_PASSENGER_PERIOD;
+                    generateNewPassengers();
                 }
             });
         }
         else {
-            setPassengerFloor(passengerVolume);
+            this.passengerStream = new PassengerStream(this.building.getTraffic(), passengerVolume);
+            drawPassengers();
         }
 
         this.timer = new Timer(100, (e) -> {
             repaint();
         });
+
+        this.events = this.building.getEventBus().subscribe();
+        this.trace = null;
+        this.replayState = null;
+        this.animationTimer = new Timer(15, (e) -> animate());
+    }
+
+    /**
+     * Constructs an instance of the object replaying a recorded trace instead of running the lifts.
+     * The replay starts paused at the beginning of the trace.
+     *
+     * @param x                         panel's starting x value
+     * @param y                         panel's starting y value
+     * @param width                     panel's width
+     * @param height                    panel's height
+     * @param backgroundColor           panel's background colour
+     * @param trace                     Trace object
+     */
+    public BuildingPanel(int x, int y, int width, int height, Color backgroundColor, Trace trace) {
+        this.isAuto = false;
+
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height - 20;
+        this.backgroundColor = backgroundColor;
+        this.maxFloor = trace.getMaxFloor();
+        this.maxLift = trace.getMaxLift();
+        this.liftWeight = trace.getLiftWeight();
+        this.passengerVolume = 0;
+        this.building = new Building(this.maxFloor, this.height / this.maxFloor, width/2, this.maxLift, this.height / this.maxFloor, width/(2*this.maxLift), this.liftWeight, false);
+
+        this.floorPanels = new FloorPanel[this.maxFloor];
+        this.liftPanels = new LiftPanel[this.maxLift];
+
+        setLayout(null);
+        setBounds(x, y, width, height);
+        repaint();
+        init();
+
+        this.trace = trace;
+        this.replayState = trace.newState();
+        this.replaySpeed = 1;
+        this.isReplayPaused = true;
+        this.events = null;
+        this.timer = new Timer(100, (e) -> {
+            repaint();
+        });
+        this.animationTimer = new Timer(15, (e) -> animate());
     }
 
     /**
      * Method starts the project, by initialising the threads.
      */
     public void start() {
+        if (this.trace != null) {
+            this.lastFrameTime = System.nanoTime();
+            this.timer.start();
+            this.animationTimer.start();
+            return;
+        }
+
         if(this.isAuto) {
             //starting the timer's thread.
             Runnable passengerRunnable = () -> this.passengerTimer.start();
@@ -116,15 +192,15 @@ public class BuildingPanel extends JPanel implements LiftListener {
         thread.setName("Timer");
         thread.start();
 
+        //starting the animation, reading the lifts' events at its own pace.
+        this.animationTimer.start();
+
         //starting the lifts' threads.
+        this.liftExecutor = LiftExecutors.newLiftExecutor();
         for (int i = 0; i < this.liftPanels.length; i++) {
-            Lift lift = this.liftPanels[i].getLift();
-            runnable = () -> lift.start();
-            thread = new Thread(runnable);
-            thread.setDaemon(true);
-            thread.setName(lift.getName());
-            thread.start();
+            this.liftExecutor.execute(LiftExecutors.named(this.liftPanels[i].getLift()));
         }
+        this.liftExecutor.shutdown();
     }
 
     /**
@@ -135,9 +211,168 @@ public class BuildingPanel extends JPanel implements LiftListener {
             this.passengerTimer.stop();
         }
         this.timer.stop();
+        this.animationTimer.stop();
+        if (this.trace != null) {
+            return;
+        }
+        this.events.close();
         for (int i = 0; i < this.liftPanels.length; i++) {
             this.liftPanels[i].getLift().stop();
         }
+        //releasing the lifts held by a paused clock.
+        this.building.getClock().close();
+    }
+
+    /**
+     * Method applies the events published by the lifts, or the records of the trace replayed,
+     * since the last frame, then moves every lift and floor panel one frame towards its state.
+     * The animation stands still while the clock is paused, and slows down below the default speed.
+     */
+    private void animate() {
+        double pace = 1;
+        if (this.trace != null) {
+            replay();
+        } else {
+            SimulationClock clock = this.building.getClock();
+            if (clock.isPaused()) {
+                return;
+            }
+            if (!clock.isMaxSpeed()) {
+                pace = Math.min(1, clock.getSpeed() / Lift.FRONT_END_SPEED);
+            }
+
+            LiftEvent event;
+            while ((event = this.events.poll()) != null) {
+                applyEvent(event.getType(), event.getLift().getIndex(), event.getFloorNo(), event.getPassenger());
+            }
+        }
+
+        for (LiftPanel liftPanel : this.liftPanels) {
+            liftPanel.animate(pace);
+        }
+        for (FloorPanel floorPanel : this.floorPanels) {
+            floorPanel.animate();
+        }
+    }
+
+    /**
+     * Method applies a state change of a lift to the panels.
+     *
+     * @param type                      type of the state change
+     * @param liftIndex                 index of the lift
+     * @param floorNo                   floor of the lift once the change is done
+     * @param passenger                 boarding or alighting passenger, null for the other types
+     */
+    private void applyEvent(LiftEventType type, int liftIndex, int floorNo, Passenger passenger) {
+        switch (type) {
+            case UP_MOVES:
+            case DOWN_MOVES:
+                this.liftPanels[liftIndex].moveTo(floorNo);
+                break;
+            case OPEN_DOOR:
+                this.liftPanels[liftIndex].openDoor();
+                break;
+            case CLOSE_DOOR:
+                this.liftPanels[liftIndex].closeDoor();
+                break;
+            case BOARD:
+                findFloorPannel(floorNo).flashBoardFloor(passenger);
+                break;
+            case ALIGHT:
+                findFloorPannel(floorNo).flashAlightFloor(passenger);
+                break;
+            case RETURN:
+                findFloorPannel(floorNo).flashFloor();
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Method moves the replay on by the time elapsed since the last frame, times the replay speed,
+     * and applies the records passed. When too many records are passed to be animated,
+     * the panels jump to the state of the trace instead.
+     */
+    private void replay() {
+        long now = System.nanoTime();
+        if (!this.isReplayPaused) {
+            this.replayTime = Math.min(this.trace.getDuration(), this.replayTime + (long) ((now - this.lastFrameTime) / 1e6 * this.replaySpeed));
+        }
+        this.lastFrameTime = now;
+
+        int index = this.trace.indexAfter(this.replayTime);
+        if (index - this.replayState.getIndex() > REPLAY_FRAME_RECORDS * this.maxLift) {
+            seekReplay(this.replayTime);
+            return;
+        }
+        for (int i = this.replayState.getIndex(); i < index; i++) {
+            applyEvent(this.trace.getType(i), this.trace.getLift(i), this.trace.getFloorNo(i), this.trace.getPassenger(i));
+        }
+        this.trace.advance(this.replayState, index);
+    }
+
+    /**
+     * Method moves the replay to a time of the trace, placing the lifts at once.
+     *
+     * @param time                      virtual time in milliseconds
+     */
+    public void seekReplay(long time) {
+        this.replayTime = Math.max(0, Math.min(time, this.trace.getDuration()));
+        this.trace.seek(this.replayState, this.trace.indexAfter(this.replayTime));
+        for (int i = 0; i < this.liftPanels.length; i++) {
+            this.liftPanels[i].jumpTo(this.replayState.getFloor(i), this.replayState.isDoorOpen(i));
+        }
+        repaint();
+    }
+
+    /**
+     * Method gets the virtual time the replay has reached.
+     *
+     * @return                          virtual time in milliseconds
+     */
+    public long getReplayTime() {
+        return replayTime;
+    }
+
+    /**
+     * Method gets the clock pacing the lifts.
+     *
+     * @return                          SimulationClock object
+     */
+    public SimulationClock getClock() {
+        return this.building.getClock();
+    }
+
+    /**
+     * Method gets the trace replayed.
+     *
+     * @return                          Trace object, null when the lifts are running
+     */
+    public Trace getTrace() {
+        return trace;
+    }
+
+    /**
+     * Method sets the speed of the replay, as virtual time per real time.
+     *
+     * @param replaySpeed               speed, 1 replays in real time
+     */
+    public void setReplaySpeed(double replaySpeed) {
+        this.replaySpeed = replaySpeed;
+    }
+
+    /**
+     * Method pauses or resumes the replay.
+     *
+     * @param isReplayPaused            is the replay paused
+     */
+    public void setReplayPaused(boolean isReplayPaused) {
+        this.isReplayPaused = isReplayPaused;
+    }
+
+    public boolean isReplayPaused() {
+        return isReplayPaused;
     }
 
     /**
@@ -214,153 +449,169 @@ public class BuildingPanel extends JPanel implements LiftListener {
         g.drawRect(this.width / 2 + 10, 2, 135, 20);
         g.drawRect(this.width / 2 + 150, 2, 135, 20);
 
+        //a single snapshot, so the totals and the cost agree with each other.
+        MetricsRegistry.Snapshot metrics = this.trace == null ? this.building.getMetrics().snapshot() : null;
+
         g.setColor(Color.BLUE);
-        g.drawString("Total Board: " + this.building.calculateTotalBoardPassengers(), this.width / 2 + 15, 17);
-        g.drawString("Total Alight: " + this.building.calculateTotalAlightPassengers(), this.width / 2 + 155, 17);
+        if (this.trace != null) {
+            g.drawString("Total Board: " + this.replayState.getTotalBoardPassengers(), this.width / 2 + 15, 17);
+            g.drawString("Total Alight: " + this.replayState.getTotalAlightPassengers(), this.width / 2 + 155, 17);
+        } else {
+            g.drawString("Total Board: " + metrics.getTotalBoardPassengers(), this.width / 2 + 15, 17);
+            g.drawString("Total Alight: " + metrics.getTotalAlightPassengers(), this.width / 2 + 155, 17);
+        }
 
         g.setColor(Color.BLUE);
         g.drawRect(this.width / 2 + 300, 2, 115, 20);
 
         g.setColor(Color.red);
-        g.drawString("Total Cost: " + this.building.calculateCost(), this.width / 2 + 310, 17);
+        if (this.trace != null) {
+            int alighted = this.replayState.getTotalAlightPassengers();
+            g.drawString("Total Cost: " + (alighted == 0 ? 0.0 : (double) this.replayState.getTotalLiftMoves() / (alighted * this.maxLift)), this.width / 2 + 310, 17);
+        } else {
+            g.drawString("Total Cost: " + metrics.getCost(), this.width / 2 + 310, 17);
+        }
     }
 
     /**
      * Method moves the lift up by certain floors.
      *
-     * @param liftName                      name of the lift
-     * @param fromFloorNo                   source floor
-     * @param moveTo                        destination floor
+     * @param liftIndex                     index of the lift
+     * @param fromFloorIndex                index of the source floor
+     * @param moveTo                        number of moves
      */
     @Override
-    public void upMoves(String liftName, int fromFloorNo, int moveTo) {
-        String s = String.format(" liftName: %s, fromFloorNo: %s, moveTo: %s", liftName, fromFloorNo, moveTo);
-        System.out.println("********* : upMoves : "+s);
-
-        LiftPanel liftPanel = findLiftByName(liftName);
-        liftPanel.moveUp(moveTo);
+    public void upMoves(int liftIndex, int fromFloorIndex, int moveTo) {
+        if (EventLog.isEnabled(LogEvent.UP_MOVES.getLevel())) {
+            EventLog.log(LogEvent.UP_MOVES, this.building.getTime(), liftIndex, fromFloorIndex + 1, moveTo);
+        }
     }
 
     /**
      * Method moves the lift down by certain floors.
      *
-     * @param liftName                      name of the lift
-     * @param fromFloorNo                   source floor
-     * @param moveTo                        destination floor
+     * @param liftIndex                     index of the lift
+     * @param fromFloorIndex                index of the source floor
+     * @param moveTo                        number of moves
      */
     @Override
-    public void downMoves(String liftName, int fromFloorNo, int moveTo) {
-        String s = String.format(" liftName: $s, fromFloorNo: %s, moveTo: %s", liftName, fromFloorNo, moveTo);
-        System.out.println("********* : downMoves : "+ s);
-
-        LiftPanel liftPanel = findLiftByName(liftName);
-        liftPanel.moveDown(moveTo);
+    public void downMoves(int liftIndex, int fromFloorIndex, int moveTo) {
+        if (EventLog.isEnabled(LogEvent.DOWN_MOVES.getLevel())) {
+            EventLog.log(LogEvent.DOWN_MOVES, this.building.getTime(), liftIndex, fromFloorIndex + 1, moveTo);
+        }
     }
 
     /**
-     * Method adds the passengers who are boarding a lift.
+     * Method removes the passengers boarding a lift who fit its remaining weight.
      *
-     * @param liftName                      name of the lift
-     * @param floorNo                       floor number
-     * @param lastPassenger                 previous passenger
-     * @param isFull                        is the lift full
-     * @return                              passenger who could not board
+     * @param liftIndex                     index of the lift
+     * @param floorIndex                    index of the floor
+     * @param direction                     direction of the lift, UP or DOWN
+     * @param remainingWeight               remaining weight the lift can carry
+     * @param boarded                       list receiving the boarding passengers
+     * @return                              is a passenger left waiting, the lift being full
      */
     @Override
-    public Passenger getBoardPassenger(String liftName, int floorNo, Passenger lastPassenger, boolean isFull) {
-        String s = String.format(" liftName: %s, floorNo: %s, lastPassenger: %s", liftName, floorNo, lastPassenger != null ? lastPassenger.toString(): null);
-        System.out.println("********* : getBoardPassenger : "+s);
-        System.out.println("********* : getBoardPassenger : isFull: "+isFull);
-
-        FloorPanel floorPanel = findFloorPannel(floorNo);
-        if(!isFull) {
-            Passenger passenger = floorPanel.getFloor().removePassenger();
-            if(passenger == null) {
-                return null;
-            }
-            floorPanel.flashBoardFloor(passenger);
-            return passenger;
+    public boolean boardPassengers(int liftIndex, int floorIndex, Lift.LiftMode direction, int remainingWeight, List<Passenger> boarded) {
+        boolean isFull = this.floorPanels[floorIndex].getFloor().removePassengers(direction, remainingWeight, this.building.getSkipLimit(), boarded);
+        long time = this.building.getTime();
+        if (EventLog.isEnabled(LogEvent.BOARD.getLevel())) {
+            EventLog.log(LogEvent.BOARD, time, liftIndex, floorIndex + 1, boarded.size());
         }
-
-        LiftPanel liftPanel = findLiftByName(liftName);
-        floorPanel.getFloor().addReturnPassenger(lastPassenger);
-        liftPanel.getLift().setArriveFloor(floorNo);
-        floorPanel.flashFloor();
-        return null;
+        if (isFull && EventLog.isEnabled(LogEvent.FULL.getLevel())) {
+            EventLog.log(LogEvent.FULL, time, liftIndex, floorIndex + 1, remainingWeight);
+        }
+        for (Passenger passenger : boarded) {
+            passenger.setBoardTime(time);
+        }
+        if (isFull) {
+            this.building.getDispatcher().assign(floorIndex + 1, direction);
+        }
+        if (this.passengerStream != null) {
+            this.passengerStream.board(boarded.size());
+            drawPassengers();
+        }
+        return isFull;
     }
 
     /**
-     * Method removes the passenger who are alighting from a lift.
+     * Method removes the passengers who are alighting from a lift.
      *
-     * @param liftName                      name of the lift
-     * @param floorNo                       floor number
-     * @param passenger                     alighting passenger
+     * @param liftIndex                     index of the lift
+     * @param floorIndex                    index of the floor
+     * @param passengers                    alighting passengers
      */
     @Override
-    public void alightPassenger(String liftName, int floorNo, Passenger passenger) {
-        String s = String.format(" liftName: %s, floorNo: %s, lastPassenger: %s", liftName, floorNo, passenger != null ? passenger.toString() : null);
-        System.out.println("********* : alightPassenger : "+s);
-
-        FloorPanel floorPanel = findFloorPannel(floorNo);
-        floorPanel.flashAlightFloor(passenger);
+    public void alightPassengers(int liftIndex, int floorIndex, List<Passenger> passengers) {
+        long time = this.building.getTime();
+        if (EventLog.isEnabled(LogEvent.ALIGHT.getLevel())) {
+            EventLog.log(LogEvent.ALIGHT, time, liftIndex, floorIndex + 1, passengers.size());
+        }
+        for (Passenger passenger : passengers) {
+            passenger.setAlightTime(time);
+            this.building.recordJourney(passenger);
+        }
     }
 
     /**
      * Method to open the lift's door.
      *
-     * @param liftName                      name of the lift
-     * @param floorNo                       floor number
+     * @param liftIndex                     index of the lift
+     * @param floorIndex                    index of the floor
      */
     @Override
-    public void openDoor(String liftName, int floorNo) {
-        String s = String.format(" liftName: %s, floorNo: %s", liftName, floorNo);
-        System.out.println("********* : openDoor :"+s);
-
-        LiftPanel liftPanel = findLiftByName(liftName);
-        liftPanel.openDoor();
+    public void openDoor(int liftIndex, int floorIndex) {
+        if (EventLog.isEnabled(LogEvent.OPEN_DOOR.getLevel())) {
+            EventLog.log(LogEvent.OPEN_DOOR, this.building.getTime(), liftIndex, floorIndex + 1, 0);
+        }
     }
 
     /**
      * Method to close the lift's door.
      *
-     * @param liftName                      name of the lift
-     * @param floorNo                       floor number
+     * @param liftIndex                     index of the lift
+     * @param floorIndex                    index of the floor
      */
     @Override
-    public void closeDoor(String liftName, int floorNo) {
-        String s = String.format(" liftName: %s, floorNo: %s", liftName, floorNo);
-        System.out.println("********* : closeDoor :"+s);
-
-        LiftPanel liftPanel = findLiftByName(liftName);
-        liftPanel.closeDoor();
+    public void closeDoor(int liftIndex, int floorIndex) {
+        if (EventLog.isEnabled(LogEvent.CLOSE_DOOR.getLevel())) {
+            EventLog.log(LogEvent.CLOSE_DOOR, this.building.getTime(), liftIndex, floorIndex + 1, 0);
+        }
     }
 
     /**
      * Method to display the lift's thread has initialised in the console.
      *
-     * @param liftName                      name of the lift
+     * @param liftIndex                     index of the lift
      */
     @Override
-    public void started(String liftName) {
-        System.out.println("********* : started : "+liftName);
+    public void started(int liftIndex) {
+        if (EventLog.isEnabled(LogEvent.STARTED.getLevel())) {
+            EventLog.log(LogEvent.STARTED, this.building.getTime(), liftIndex, this.liftPanels[liftIndex].getLift().getFloor(), 0);
+        }
     }
 
     /**
      * Method to display the lift's tread has terminated in the console.
      *
-     * @param liftName                      name of the lift
+     * @param liftIndex                     index of the lift
      */
     @Override
-    public void stopped(String liftName) {
-        System.out.println("********* : stopped : "+liftName);
+    public void stopped(int liftIndex) {
+        if (EventLog.isEnabled(LogEvent.STOPPED.getLevel())) {
+            EventLog.log(LogEvent.STOPPED, this.building.getTime(), liftIndex, this.liftPanels[liftIndex].getLift().getFloor(), 0);
+        }
+        if (!this.isAuto) {
+            //the lifts without calls would wait for good.
+            this.building.getDispatcher().stopIdleLifts();
+        }
     }
 
     /**
      * Method randomly allocate source and destination floors to the new passengers.
      */
     private synchronized void generateNewPassengers() {
-        System.out.println("Source aaaaaaaaa");
-        int numOfPassenger = random.nextInt(this.passengerVolume) + 1;
+        int numOfPassenger = this.building.getTraffic().nextArrivals(this.passengerVolume);
 
         setPassengerFloor(numOfPassenger);
     }
@@ -371,49 +622,52 @@ public class BuildingPanel extends JPanel implements LiftListener {
      * @param PassengerNo                   number of passengers
      */
     private void setPassengerFloor(int PassengerNo) {
+        TrafficGenerator traffic = this.building.getTraffic();
         for (int i = 0; i < PassengerNo; i++) {
-            int sourceFloor;
-            do {
-                sourceFloor = this.random.nextInt(this.maxFloor) + 1;
-            } while (sourceFloor < 1 || sourceFloor > this.maxFloor);
-
-            int liftNo;
-            do {
-                liftNo = this.random.nextInt(this.maxLift) + 1;
-            } while (liftNo < 1 || liftNo > this.maxLift);
-
-            int destinationFloor;
-            do {
-                destinationFloor = this.random.nextInt(this.maxFloor)+ 1;
-            } while(destinationFloor == sourceFloor || destinationFloor < 1 || destinationFloor > this.maxFloor);
-
-            Floor floor = this.floorPanels[sourceFloor-1].getFloor();
+            Passenger passenger = traffic.nextPassenger();
+            int sourceFloor = passenger.getSourceFloor();
 
-            if(floor.getPassengers().size() < this.passengerVolume) {
-
-                int weight;
-                do {
-                    weight = this.random.nextInt(120) + 50;
-                } while (weight > this.liftWeight);
-
-                floor.addNewPassenger(new Passenger(weight, sourceFloor, destinationFloor));
+            if(this.floorPanels[sourceFloor-1].getFloor().getPassengerCount() < this.passengerVolume) {
+                addPassenger(passenger);
                 this.floorPanels[sourceFloor-1].flashFloor();
-
-                System.out.println("Source "+sourceFloor);
-
-                this.liftPanels[liftNo-1].getLift().setArriveFloor(sourceFloor);
             }
         }
     }
 
     /**
-     * Method used to finds a given lift by it's name.
+     * Method adds the next chunk of the passenger stream to the floors, once the waiting
+     * passengers are running low. The lifts call it from their own threads.
+     */
+    private void drawPassengers() {
+        List<Passenger> passengers = this.passengerStream.next();
+        if (passengers.isEmpty()) {
+            return;
+        }
+        for (Passenger passenger : passengers) {
+            addPassenger(passenger);
+        }
+        SwingUtilities.invokeLater(() -> {
+            for (FloorPanel floorPanel : this.floorPanels) {
+                floorPanel.flashFloor();
+            }
+        });
+    }
+
+    /**
+     * Method adds a passenger to their source floor and calls a lift.
      *
-     * @param liftName                      name of the lift
-     * @return                              LiftPanel object
+     * @param passenger                     Passenger object
      */
-    private LiftPanel findLiftByName(String liftName) {
-        return Arrays.asList(this.liftPanels).stream().filter(l -> l.getLift().getName().equals(liftName)).findAny().get();
+    private void addPassenger(Passenger passenger) {
+        int sourceFloor = passenger.getSourceFloor();
+        passenger.setArriveTime(this.building.getTime());
+        this.floorPanels[sourceFloor-1].getFloor().addNewPassenger(passenger);
+
+        if (EventLog.isEnabled(LogEvent.PASSENGER.getLevel())) {
+            EventLog.log(LogEvent.PASSENGER, passenger.getArriveTime(), -1, sourceFloor, passenger.getDestinationFloor());
+        }
+
+        this.building.getDispatcher().assign(sourceFloor, passenger.getDirection());
     }
 
     /**
@@ -426,8 +680,4 @@ public class BuildingPanel extends JPanel implements LiftListener {
         return this.floorPanels[floorNo-1];
     }
 
-    private LiftPanel findLiftPannel(int liftNo) {
-        return this.liftPanels[liftNo-1];
-    }
-
 }
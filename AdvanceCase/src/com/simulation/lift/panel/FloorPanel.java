@@ -1,7 +1,6 @@
 package com.simulation.lift.panel;
 
 import com.simulation.lift.model.Floor;
-import com.simulation.lift.model.Lift;
 import com.simulation.lift.model.Passenger;
 
 import javax.swing.*;
@@ -19,6 +18,11 @@ public class FloorPanel extends JPanel {
         ALIGHT
     }
 
+    /**
+     * Number of animation frames a moving passenger is painted for.
+     */
+    private static final int FLASH_FRAMES = 4;
+
     private final int x;
     private final int y;
     private final int width;
@@ -29,6 +33,7 @@ public class FloorPanel extends JPanel {
     private List<Passenger> passengers;
     private Passenger movePassenger;
     private PP pp;
+    private int flashFrames;
 
     /**
      * Constructs an instance of the object containing x, y, width, height,
@@ -69,44 +74,54 @@ public class FloorPanel extends JPanel {
      * Method paints the passengers who are waiting on the floor.
      */
     public void flashFloor() {
-        this.passengers = new ArrayList<>(this.floor.getPassengers());
+        this.passengers = this.floor.getPassengers();
         this.pp = PP.WAIT;
         repaint();
     }
 
     /**
-     * Method paints the passenger who is boarding a lift.
+     * Method paints the passenger who is boarding a lift for a few frames.
      *
      * @param passenger                 Passenger object
      */
     public void flashBoardFloor(Passenger passenger) {
-        this.movePassenger = passenger;
-        int count = 3;
-        while(count > 0) {
-            this.pp = PP.BOARD;
-            repaint();
-            Lift.waitFor();
-            count--;
-        }
-        Lift.waitFor();
-        flashFloor();
+        flashMovePassenger(passenger, PP.BOARD);
     }
 
     /**
-     * Method paints the passenger who is alighting from a lift.
+     * Method paints the passenger who is alighting from a lift for a few frames.
+     *
      * @param passenger                 Passenger object
      */
     public void flashAlightFloor(Passenger passenger) {
-        this.movePassenger = passenger;
-        int count = 3;
-        while(count > 0) {
-            this.pp = PP.ALIGHT;
-            repaint();
-            Lift.waitFor();
-            count--;
+        flashMovePassenger(passenger, PP.ALIGHT);
+    }
+
+    /**
+     * Method moves the painting of a moving passenger one frame on,
+     * back to the waiting passengers once its frames are over.
+     */
+    public void animate() {
+        if (this.flashFrames > 0) {
+            this.flashFrames--;
+            if (this.flashFrames == 0) {
+                flashFloor();
+            }
         }
-        Lift.waitFor();
-        flashFloor();
+    }
+
+    /**
+     * Method starts painting a passenger moving to/from a lift.
+     *
+     * @param passenger                 Passenger object
+     * @param pp                        BOARD or ALIGHT
+     */
+    private void flashMovePassenger(Passenger passenger, PP pp) {
+        this.passengers = this.floor.getPassengers();
+        this.movePassenger = passenger;
+        this.pp = pp;
+        this.flashFrames = FLASH_FRAMES;
+        repaint();
     }
 
     /**
@@ -15,6 +15,8 @@ public class LiftPanel extends JPanel {
     private final Lift lift;
 
     private int ty;
+    private int targetTy;
+    private int targetDoorWidth;
 
     /**
      * Constructs an instance of the object containing x, y, width, height,
@@ -33,6 +35,7 @@ public class LiftPanel extends JPanel {
         this.width = width;
         this.height = height;
         this.doorWidth = width / 2;
+        this.targetDoorWidth = this.doorWidth;
         this.backgroundColor = backgroundColor;
         this.lift = lift;
 
@@ -51,68 +54,76 @@ public class LiftPanel extends JPanel {
     }
 
     /**
-     * Method paints the lift moving up.
+     * Method sets the floor the lift is moving to, the panel then animates towards it.
      *
-     * @param move                  number of moves
+     * @param floorNo               floor number
      */
-    public void moveUp(int move) {
-        if (move > 0 ) {
-            int count = 0;
-            int tmp = this.ty;
-            while (count < this.lift.getHeight() * move) {
-                repaint();
-                this.ty += 5;
-                count += 5;
-                Lift.waitFor();
-            }
-            this.ty = tmp + this.lift.getHeight() * move;
-        }
-        repaint();
+    public void moveTo(int floorNo) {
+        this.targetTy = (floorNo - this.lift.getMinFloor()) * this.lift.getHeight();
+    }
+
+    /**
+     * Method sets the door of the lift opening, the panel then animates it.
+     */
+    public void openDoor() {
+        this.targetDoorWidth = 0;
     }
 
     /**
-     * Method paints the lift moving down.
+     * Method sets the door of the lift closing, the panel then animates it.
+     */
+    public void closeDoor() {
+        this.targetDoorWidth = width / 2;
+    }
+
+    /**
+     * Method places the lift on a floor with its door open or closed at once, without animating.
      *
-     * @param move                  number of moves
+     * @param floorNo               floor number
+     * @param isDoorOpen            is the door open
      */
-    public void moveDown(int move) {
-        int count = 0;
-        int tmp = this.ty;
-        while(count < this.lift.getHeight()*move) {
-            repaint();
-            Lift.waitFor();
-            this.ty -= 5;
-            count += 5;
+    public void jumpTo(int floorNo, boolean isDoorOpen) {
+        moveTo(floorNo);
+        if (isDoorOpen) {
+            openDoor();
+        } else {
+            closeDoor();
         }
-        this.ty = tmp - this.lift.getHeight()*move;
+        this.ty = this.targetTy;
+        this.doorWidth = this.targetDoorWidth;
         repaint();
     }
 
     /**
-     * Method paints the door of a lift opening.
+     * Method moves the painted lift and door one frame closer to their targets.
+     * The further behind the lift is, the larger the frame, so the panel catches up with a fast lift.
+     *
+     * @param pace                  share of the default speed, up to 1, scaling the smallest frame
      */
-    public void openDoor() {
-        this.doorWidth = width / 2;
-        while(this.doorWidth > 0) {
-            this.doorWidth-=5;
-            repaint();
-            Lift.waitFor();
+    public void animate(double pace) {
+        if (this.ty == this.targetTy && this.doorWidth == this.targetDoorWidth) {
+            return;
         }
-        this.doorWidth = 0;
+        int minStep = Math.max(1, (int) Math.round(5 * pace));
+        this.ty = approach(this.ty, this.targetTy, minStep);
+        this.doorWidth = approach(this.doorWidth, this.targetDoorWidth, minStep);
         repaint();
     }
 
     /**
-     * Method paints the door of a lift closing.
+     * Method gets a value one frame closer to its target.
+     *
+     * @param value                 current value
+     * @param target                target value
+     * @param minStep               smallest frame
+     * @return                      next value
      */
-    public void closeDoor() {
-        while(this.doorWidth < width / 2) {
-            this.doorWidth+=5;
-            repaint();
-            Lift.waitFor();
+    private static int approach(int value, int target, int minStep) {
+        int step = Math.max(minStep, Math.abs(target - value) / 8);
+        if (value < target) {
+            return Math.min(value + step, target);
         }
-        this.doorWidth = width / 2;
-        repaint();
+        return Math.max(value - step, target);
     }
 
     /**
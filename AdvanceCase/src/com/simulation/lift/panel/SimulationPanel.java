@@ -1,35 +1,149 @@
 package com.simulation.lift.panel;
 
+import com.simulation.lift.model.Lift;
+import com.simulation.lift.model.SimulationClock;
+import com.simulation.lift.model.Trace;
+
 import javax.swing.*;
 import java.awt.*;
 
 public class SimulationPanel extends JPanel {
+    private static final String[] REPLAY_SPEEDS = {"0.25x", "1x", "10x", "60x", "600x", "3600x"};
+    private static final String[] CLOCK_SPEEDS = {"0.25x", "1x", "10x", "100x", "1000x", "Max"};
+
     private BuildingPanel building;
+    private Timer replayTimer;
+    private Timer clockTimer;
 
     /**
      * Constructs an instance of the object containing maxBuildingFloor,
-     * liftWeight, passengerVolume and liftNo arguments.
+     * liftWeight, passengerVolume, liftNo, isAuto and seed arguments.
      *
      * @param maxBuildingFloor              max floor of the building
      * @param liftWeight                    lift weight capacity
      * @param passengerVolume               volume of incoming passenger at each refreshing rate
      * @param isAuto                        is the program auto
+     * @param seed                          seed of the passengers' generator
      */
-    public SimulationPanel(int maxBuildingFloor, int liftWeight, int passengerVolume, int liftNo, Boolean isAuto) {
+    public SimulationPanel(int maxBuildingFloor, int liftWeight, int passengerVolume, int liftNo, Boolean isAuto, long seed) {
         setLayout(null);
-        setPreferredSize(new Dimension(855, 630));
+        setPreferredSize(new Dimension(855, 665));
+
+        this.building = new BuildingPanel(0, 0,850, 620, Color.WHITE, maxBuildingFloor, liftNo, liftWeight, passengerVolume, isAuto, seed);
+        SimulationClock clock = this.building.getClock();
+
+        JButton pauseButton = new JButton("Pause");
+        pauseButton.setBounds(5, 630, 80, 25);
+        add(pauseButton);
+
+        //moves a paused simulation on by the time the lift takes to travel one floor.
+        JButton stepButton = new JButton("Step");
+        stepButton.setBounds(90, 630, 80, 25);
+        stepButton.setEnabled(false);
+        stepButton.addActionListener(e -> clock.step(Lift.MOVE_TIME));
+        add(stepButton);
+
+        pauseButton.addActionListener(e -> {
+            clock.setPaused(!clock.isPaused());
+            pauseButton.setText(clock.isPaused() ? "Resume" : "Pause");
+            stepButton.setEnabled(clock.isPaused());
+        });
+
+        JComboBox<String> speed = new JComboBox<>(CLOCK_SPEEDS);
+        speed.setSelectedItem(Lift.FRONT_END_SPEED + "x");
+        speed.setBounds(175, 630, 80, 25);
+        speed.addActionListener(e -> {
+            String selected = (String) speed.getSelectedItem();
+            if ("Max".equals(selected)) {
+                clock.setMaxSpeed(true);
+            } else {
+                clock.setSpeed(Double.parseDouble(selected.substring(0, selected.length() - 1)));
+            }
+        });
+        add(speed);
+
+        JLabel time = new JLabel();
+        time.setBounds(265, 630, 120, 25);
+        add(time);
+
+        this.clockTimer = new Timer(100, e -> {
+            long seconds = clock.getTime() / 1000;
+            time.setText(String.format("%d:%02d:%02d", seconds / 3600, seconds / 60 % 60, seconds % 60));
+        });
+        this.clockTimer.start();
 
-        this.building = new BuildingPanel(0, 0,850, 620, Color.WHITE, maxBuildingFloor, liftNo, liftWeight, passengerVolume, isAuto);
         //starting all the treads to run in the program.
         this.building.start();
 
         add(building);
     }
 
+    /**
+     * Constructs an instance of the object replaying a trace, with the controls to play, pause,
+     * change the speed of and scrub through the replay.
+     *
+     * @param trace                         Trace object
+     */
+    public SimulationPanel(Trace trace) {
+        setLayout(null);
+        setPreferredSize(new Dimension(855, 665));
+
+        this.building = new BuildingPanel(0, 0, 850, 620, Color.WHITE, trace);
+        add(building);
+
+        JButton playButton = new JButton("Play");
+        playButton.setBounds(5, 630, 80, 25);
+        playButton.addActionListener(e -> {
+            this.building.setReplayPaused(!this.building.isReplayPaused());
+            playButton.setText(this.building.isReplayPaused() ? "Play" : "Pause");
+        });
+        add(playButton);
+
+        JComboBox<String> speed = new JComboBox<>(REPLAY_SPEEDS);
+        speed.setSelectedItem("1x");
+        speed.setBounds(90, 630, 80, 25);
+        speed.addActionListener(e -> {
+            String selected = (String) speed.getSelectedItem();
+            this.building.setReplaySpeed(Double.parseDouble(selected.substring(0, selected.length() - 1)));
+        });
+        add(speed);
+
+        //the slider counts seconds, so traces of years still fit an int.
+        JSlider position = new JSlider(0, (int) (trace.getDuration() / 1000), 0);
+        position.setBounds(175, 630, 580, 25);
+        add(position);
+
+        JLabel time = new JLabel();
+        time.setBounds(760, 630, 90, 25);
+        add(time);
+
+        position.addChangeListener(e -> {
+            if (position.getValueIsAdjusting()) {
+                this.building.seekReplay(position.getValue() * 1000L);
+            }
+        });
+        this.replayTimer = new Timer(100, e -> {
+            if (!position.getValueIsAdjusting()) {
+                position.setValue((int) (this.building.getReplayTime() / 1000));
+            }
+            long seconds = this.building.getReplayTime() / 1000;
+            time.setText(String.format("%d:%02d:%02d", seconds / 3600, seconds / 60 % 60, seconds % 60));
+        });
+        this.replayTimer.start();
+
+        this.building.start();
+    }
+
     /**
      * Method stops all the treads in the BuildPanel class the stop the program.
      */
     public void stop() {
+        if (this.replayTimer != null) {
+            this.replayTimer.stop();
+        }
+        if (this.clockTimer != null) {
+            this.clockTimer.stop();
+        }
         building.stop();
     }
 }
\ No newline at end of file
@@ -0,0 +1,191 @@
+package com.simulation.lift.strategy;
+
+import com.simulation.lift.api.DispatchStrategy;
+import com.simulation.lift.model.FloorSet;
+import com.simulation.lift.model.HallCallRegistry;
+import com.simulation.lift.model.Lift;
+
+public class LookStrategy implements DispatchStrategy {
+    /**
+     * Weight of the lightest passenger, below which a lift cannot take anybody.
+     */
+    private static final int MIN_PASSENGER_WEIGHT = 50;
+
+    /**
+     * Method gets the number of up moves lift have to perform.
+     * The lift stops for its passengers and for its calls going up, and only
+     * turns around at the highest call going down once nothing else is above.
+     *
+     * @param lift                      Lift object
+     * @param floorNo                   current floor
+     * @return                          moves
+     */
+    @Override
+    public int getUpMove(Lift lift, int floorNo) {
+        HallCallRegistry arriveFloors = lift.getArriveFloors();
+        int arr = arriveFloors.nextCall(floorNo, Lift.LiftMode.UP, lift.getIndex());
+        int dep = Math.max(lift.getDepartFloors().nextSetBit(floorNo), 0);
+
+        if (arr == 0 && dep == 0) {
+            arr = arriveFloors.previousCall(lift.getMaxFloor(), Lift.LiftMode.DOWN, lift.getIndex());
+            if (arr < floorNo) {
+                return -1;
+            }
+            lift.claimArriveFloor(arr, Lift.LiftMode.DOWN);
+            return arr - floorNo;
+        } else if (arr == 0) {
+            return dep - floorNo;
+        } else if (dep == 0) {
+            lift.claimArriveFloor(arr, Lift.LiftMode.UP);
+            return arr - floorNo;
+        } else if (dep >= arr) {
+            lift.claimArriveFloor(arr, Lift.LiftMode.UP);
+            return arr - floorNo;
+        } else {
+            return dep - floorNo;
+        }
+    }
+
+    /**
+     * Method gets the number of down moves lift have to perform.
+     * The lift stops for its passengers and for its calls going down, and only
+     * turns around at the lowest call going up once nothing else is below.
+     *
+     * @param lift                      Lift object
+     * @param floorNo                   current floor
+     * @return                          moves
+     */
+    @Override
+    public int getDownMove(Lift lift, int floorNo) {
+        HallCallRegistry arriveFloors = lift.getArriveFloors();
+        int arr = arriveFloors.previousCall(floorNo, Lift.LiftMode.DOWN, lift.getIndex());
+        int dep = Math.max(lift.getDepartFloors().previousSetBit(floorNo), 0);
+
+        if (arr == 0 && dep == 0) {
+            arr = arriveFloors.nextCall(lift.getMinFloor(), Lift.LiftMode.UP, lift.getIndex());
+            if (arr == 0 || arr > floorNo) {
+                return -1;
+            }
+            lift.claimArriveFloor(arr, Lift.LiftMode.UP);
+            return floorNo - arr;
+        } else if (arr == 0) {
+            return floorNo - dep;
+        } else if (dep == 0) {
+            lift.claimArriveFloor(arr, Lift.LiftMode.DOWN);
+            return floorNo - arr;
+        } else if (dep <= arr) {
+            lift.claimArriveFloor(arr, Lift.LiftMode.DOWN);
+            return floorNo - arr;
+        } else {
+            return floorNo - dep;
+        }
+    }
+
+    /**
+     * Method gets the number of moves lift have to perform for passengers to alight.
+     * This is because the lift is full, so it needs to empty lift.
+     *
+     * @param lift                      Lift object
+     * @param direction                 lift's direction
+     * @param floorNo                   current floor
+     * @return                          moves
+     */
+    @Override
+    public int getUpDownMove(Lift lift, Lift.LiftMode direction, int floorNo) {
+        FloorSet departFloors = lift.getDepartFloors();
+        if (direction == Lift.LiftMode.UP) {
+            int dep = departFloors.nextSetBit(floorNo + 1);
+            if (dep != -1) {
+                return dep - floorNo;
+            }
+        } else {
+            int dep = departFloors.previousSetBit(floorNo - 1);
+            if (dep != -1) {
+                return floorNo - dep;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Method selects the running lift with the lowest estimated time of arrival,
+     * or a stopped lift if none is running.
+     *
+     * @param lifts                     lifts of the building
+     * @param floorNo                   floor of the call
+     * @param direction                 direction of the call, UP or DOWN
+     * @return                          selected lift
+     */
+    @Override
+    public Lift selectLift(Lift[] lifts, int floorNo, Lift.LiftMode direction) {
+        Lift bestLift = selectLift(lifts, floorNo, direction, true);
+        //no lift is running, the call waits for a stopped one.
+        return bestLift != null ? bestLift : selectLift(lifts, floorNo, direction, false);
+    }
+
+    /**
+     * Method selects the lift with the lowest estimated time of arrival.
+     *
+     * @param lifts                     lifts of the building
+     * @param floorNo                   floor of the call
+     * @param direction                 direction of the call, UP or DOWN
+     * @param isRunningOnly             are the stopped lifts skipped
+     * @return                          selected lift, null if every lift is skipped
+     */
+    private Lift selectLift(Lift[] lifts, int floorNo, Lift.LiftMode direction, boolean isRunningOnly) {
+        Lift bestLift = null;
+        long bestTime = Long.MAX_VALUE;
+        for (Lift lift : lifts) {
+            if (isRunningOnly && !lift.isRunning()) {
+                continue;
+            }
+            long time = estimateArrivalTime(lift, floorNo, direction);
+            if (time < bestTime) {
+                bestTime = time;
+                bestLift = lift;
+            }
+        }
+        return bestLift;
+    }
+
+    @Override
+    public String getName() {
+        return "LOOK/ETA";
+    }
+
+    /**
+     * Method estimates the time a lift needs to reach a hall call, from its current floor,
+     * direction, pending stops, calls already assigned to it and remaining capacity.
+     *
+     * @param lift                  Lift object
+     * @param floorNo               floor of the call
+     * @param direction             direction of the call, UP or DOWN
+     * @return                      estimated time of arrival in milliseconds
+     */
+    public static long estimateArrivalTime(Lift lift, int floorNo, Lift.LiftMode direction) {
+        int liftFloor = lift.getFloor();
+        Lift.LiftMode liftDirection = lift.getLiftDirection();
+        long stopTime = 2 * Lift.DOOR_TIME + Lift.TRANSFER_TIME;
+
+        int distance;
+        if (lift.getPendingStops() == 0 || liftDirection == Lift.LiftMode.WAIT) {
+            //an idle lift goes straight to the call.
+            distance = Math.abs(floorNo - liftFloor);
+        } else if (liftDirection == direction
+                && (direction == Lift.LiftMode.UP ? floorNo >= liftFloor : floorNo <= liftFloor)) {
+            //the call is ahead on the lift's way.
+            distance = Math.abs(floorNo - liftFloor);
+        } else {
+            //the lift first drops its passengers, then comes back.
+            int lastStop = lift.getLastStop(liftDirection);
+            distance = Math.abs(lastStop - liftFloor) + Math.abs(floorNo - lastStop);
+        }
+
+        long time = distance * Lift.MOVE_TIME + (lift.getPendingStops() + lift.getAssignedCalls()) * stopTime;
+        if (lift.getRemainingWeight() < MIN_PASSENGER_WEIGHT) {
+            //a full lift has to drop every passenger before it can take anyone.
+            time += lift.getPendingStops() * stopTime + lift.getMaxMoveDistance() * Lift.MOVE_TIME;
+        }
+        return time;
+    }
+}
@@ -0,0 +1,47 @@
+package com.simulation.lift.strategy;
+
+import com.simulation.lift.model.Lift;
+
+public class NearestCarStrategy extends LookStrategy {
+    /**
+     * Method selects the running lift closest to the call, whatever its direction or load,
+     * or a stopped lift if none is running.
+     *
+     * @param lifts                     lifts of the building
+     * @param floorNo                   floor of the call
+     * @param direction                 direction of the call, UP or DOWN
+     * @return                          selected lift
+     */
+    @Override
+    public Lift selectLift(Lift[] lifts, int floorNo, Lift.LiftMode direction) {
+        Lift bestLift = selectLift(lifts, floorNo, true);
+        //no lift is running, the call waits for a stopped one.
+        return bestLift != null ? bestLift : selectLift(lifts, floorNo, false);
+    }
+
+    /**
+     * Method selects the lift closest to the call.
+     *
+     * @param lifts                     lifts of the building
+     * @param floorNo                   floor of the call
+     * @param isRunningOnly             are the stopped lifts skipped
+     * @return                          selected lift, null if every lift is skipped
+     */
+    private Lift selectLift(Lift[] lifts, int floorNo, boolean isRunningOnly) {
+        Lift bestLift = null;
+        for (Lift lift : lifts) {
+            if (isRunningOnly && !lift.isRunning()) {
+                continue;
+            }
+            if (bestLift == null || Math.abs(lift.getFloor() - floorNo) < Math.abs(bestLift.getFloor() - floorNo)) {
+                bestLift = lift;
+            }
+        }
+        return bestLift;
+    }
+
+    @Override
+    public String getName() {
+        return "LOOK/Nearest";
+    }
+}
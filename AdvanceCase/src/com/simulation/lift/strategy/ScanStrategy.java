@@ -0,0 +1,66 @@
+package com.simulation.lift.strategy;
+
+import com.simulation.lift.model.Lift;
+
+public class ScanStrategy extends LookStrategy {
+    /**
+     * Method gets the number of up moves lift have to perform.
+     * The lift stops for its passengers and for its calls going up, and runs on
+     * to the top floor before turning around while any work is left.
+     *
+     * @param lift                      Lift object
+     * @param floorNo                   current floor
+     * @return                          moves
+     */
+    @Override
+    public int getUpMove(Lift lift, int floorNo) {
+        int arr = lift.getArriveFloors().nextCall(floorNo, Lift.LiftMode.UP, lift.getIndex());
+        int dep = Math.max(lift.getDepartFloors().nextSetBit(floorNo), 0);
+
+        if (arr == 0 && dep == 0) {
+            if (!hasWork(lift) || floorNo == lift.getMaxFloor()) {
+                return -1;
+            }
+            return lift.getMaxFloor() - floorNo;
+        }
+        return super.getUpMove(lift, floorNo);
+    }
+
+    /**
+     * Method gets the number of down moves lift have to perform.
+     * The lift stops for its passengers and for its calls going down, and runs on
+     * to the bottom floor before turning around while any work is left.
+     *
+     * @param lift                      Lift object
+     * @param floorNo                   current floor
+     * @return                          moves
+     */
+    @Override
+    public int getDownMove(Lift lift, int floorNo) {
+        int arr = lift.getArriveFloors().previousCall(floorNo, Lift.LiftMode.DOWN, lift.getIndex());
+        int dep = Math.max(lift.getDepartFloors().previousSetBit(floorNo), 0);
+
+        if (arr == 0 && dep == 0) {
+            if (!hasWork(lift) || floorNo == lift.getMinFloor()) {
+                return -1;
+            }
+            return floorNo - lift.getMinFloor();
+        }
+        return super.getDownMove(lift, floorNo);
+    }
+
+    @Override
+    public String getName() {
+        return "SCAN/ETA";
+    }
+
+    /**
+     * Method checks whether any passenger is waiting for the lift or travelling in it.
+     *
+     * @param lift                      Lift object
+     * @return                          is there work left
+     */
+    private boolean hasWork(Lift lift) {
+        return !lift.getArriveFloors().isEmpty(lift.getIndex()) || !lift.getDepartFloors().isEmpty();
+    }
+}
@@ -0,0 +1,223 @@
+package com.simulation.lift.sweep;
+
+import com.simulation.lift.model.Building;
+import com.simulation.lift.model.TrafficGenerator;
+import com.simulation.lift.strategy.LookStrategy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SweepEngine {
+    /**
+     * Master seed of the sweeps built without one, so stored results stay comparable between runs.
+     */
+    public static final long DEFAULT_SEED = 42;
+
+    /**
+     * Task running a range of grid points, split in halves until a single point is left.
+     */
+    private class SweepTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        private SweepTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from == 1) {
+                runPoint(this.from);
+            } else {
+                int middle = (this.from + this.to) >>> 1;
+                invokeAll(new SweepTask(this.from, middle), new SweepTask(middle, this.to));
+            }
+        }
+    }
+
+    private final int[] liftWeights;
+    private final int[] floors;
+    private final int[] passengers;
+    private final SweepResult[] results;
+    private final long seed;
+
+    private SweepStore store;
+    private Set<Long> completedPoints;
+
+    private final AtomicInteger completedRuns;
+    private final AtomicLong simulatedPassengers;
+
+    /**
+     * Constructs an instance of the object containing the liftWeights, floors
+     * and passengers arguments, whose combinations make the grid to sweep.
+     *
+     * @param liftWeights               lift capacities
+     * @param floors                    floor numbers
+     * @param passengers                passenger numbers
+     */
+    public SweepEngine(int[] liftWeights, int[] floors, int[] passengers) {
+        this(liftWeights, floors, passengers, DEFAULT_SEED);
+    }
+
+    /**
+     * Constructs an instance of the object containing the liftWeights, floors, passengers
+     * and seed arguments. Every grid point draws its passengers from a seed derived from
+     * the master seed and the point, so a point gets the same passengers in every sweep.
+     *
+     * @param liftWeights               lift capacities
+     * @param floors                    floor numbers
+     * @param passengers                passenger numbers
+     * @param seed                      master seed
+     */
+    public SweepEngine(int[] liftWeights, int[] floors, int[] passengers, long seed) {
+        this.liftWeights = liftWeights;
+        this.floors = floors;
+        this.passengers = passengers;
+        this.results = new SweepResult[liftWeights.length * floors.length * passengers.length];
+        this.seed = seed;
+
+        this.completedRuns = new AtomicInteger();
+        this.simulatedPassengers = new AtomicLong();
+    }
+
+    /**
+     * Method creates the values from a start value to an end value, both inclusive.
+     *
+     * @param from                      start value
+     * @param to                        end value
+     * @param step                      increment between the values
+     * @return                          array of values
+     */
+    public static int[] range(int from, int to, int step) {
+        int[] values = new int[(to - from) / step + 1];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = from + i * step;
+        }
+        return values;
+    }
+
+    /**
+     * Method gets the master seed from which the grid points draw their passengers.
+     *
+     * @return                          seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Method gets the number of grid points of the sweep.
+     *
+     * @return                          number of grid points
+     */
+    public int size() {
+        return this.results.length;
+    }
+
+    /**
+     * Method runs every grid point on a fork-join pool using every core,
+     * printing the progress and throughput every second.
+     *
+     * @return                          results ordered by lift capacity, floor number and passenger number
+     */
+    public List<SweepResult> run() {
+        return run(null, Collections.emptySet());
+    }
+
+    /**
+     * Method runs the grid points which are not completed yet, appending each result to a store
+     * as soon as it is known, so an interrupted sweep can be resumed from the store.
+     *
+     * @param store                     store receiving the results, null for none
+     * @param completedPoints           keys of the grid points to skip, see {@link SweepStore#key(int, int, int)}
+     * @return                          results of the grid points run, ordered by lift capacity, floor number and passenger number
+     */
+    public List<SweepResult> run(SweepStore store, Set<Long> completedPoints) {
+        this.store = store;
+        this.completedPoints = completedPoints;
+
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r);
+            thread.setDaemon(true);
+            thread.setName("SweepProgress");
+            return thread;
+        });
+
+        long startTime = System.nanoTime();
+        progress.scheduleAtFixedRate(() -> printProgress(startTime), 1, 1, TimeUnit.SECONDS);
+        try {
+            pool.invoke(new SweepTask(0, this.results.length));
+        } finally {
+            progress.shutdownNow();
+            pool.shutdown();
+        }
+        printProgress(startTime);
+
+        List<SweepResult> results = new ArrayList<>();
+        for (SweepResult result : this.results) {
+            if (result != null) {
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Method runs a single grid point on an isolated headless building.
+     *
+     * @param index                     index of the grid point
+     */
+    private void runPoint(int index) {
+        int passengerNo = this.passengers[index % this.passengers.length];
+        int maxFloor = this.floors[(index / this.passengers.length) % this.floors.length];
+        int liftWeight = this.liftWeights[index / (this.passengers.length * this.floors.length)];
+
+        long key = SweepStore.key(liftWeight, maxFloor, passengerNo);
+        if (this.completedPoints.contains(key)) {
+            this.completedRuns.incrementAndGet();
+            return;
+        }
+
+        Building building = new Building(maxFloor, 620 / maxFloor, 1, Math.max(maxFloor / 3, 1), 1, 1, liftWeight, passengerNo, false, new LookStrategy(), TrafficGenerator.seedOf(this.seed, key));
+        building.run();
+
+        this.results[index] = SweepResult.of(building, liftWeight, passengerNo);
+        if (this.store != null) {
+            try {
+                this.store.append(this.results[index]);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        this.simulatedPassengers.addAndGet(passengerNo);
+        this.completedRuns.incrementAndGet();
+    }
+
+    /**
+     * Method prints the progress and throughput of the sweep in the console.
+     *
+     * @param startTime                 start time of the sweep in nanoseconds
+     */
+    private void printProgress(long startTime) {
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        int completed = this.completedRuns.get();
+        System.out.println(String.format("Sweep: %d/%d runs (%.1f%%), %.1f runs/s, %.0f passengers/s",
+                completed, this.results.length, completed * 100.0 / this.results.length,
+                completed / seconds, this.simulatedPassengers.get() / seconds));
+    }
+}
@@ -0,0 +1,123 @@
+package com.simulation.lift.sweep;
+
+import com.simulation.lift.model.Building;
+import com.simulation.lift.model.MetricsRegistry;
+
+public class SweepResult {
+    private final int liftWeight;
+    private final int maxFloor;
+    private final int passengerNo;
+    private final int maxLift;
+    private final double cost;
+    private final int totalMoves;
+    private final int totalBoardPassengers;
+    private final int totalAlightPassengers;
+    private final long simulationTime;
+    private final long processedEvents;
+
+    /**
+     * Constructs an instance of the object containing the grid point and the
+     * metrics of one simulation run.
+     *
+     * @param liftWeight                maximum lift capacity
+     * @param maxFloor                  maximum floor number
+     * @param passengerNo               number of passengers
+     * @param maxLift                   number of lifts
+     * @param cost                      total cost
+     * @param totalMoves                total lifts' moves
+     * @param totalBoardPassengers      total boarded passengers
+     * @param totalAlightPassengers     total alighted passengers
+     * @param simulationTime            virtual duration of the run in milliseconds
+     * @param processedEvents           number of processed events
+     */
+    public SweepResult(int liftWeight, int maxFloor, int passengerNo, int maxLift, double cost, int totalMoves,
+                       int totalBoardPassengers, int totalAlightPassengers, long simulationTime, long processedEvents) {
+        this.liftWeight = liftWeight;
+        this.maxFloor = maxFloor;
+        this.passengerNo = passengerNo;
+        this.maxLift = maxLift;
+        this.cost = cost;
+        this.totalMoves = totalMoves;
+        this.totalBoardPassengers = totalBoardPassengers;
+        this.totalAlightPassengers = totalAlightPassengers;
+        this.simulationTime = simulationTime;
+        this.processedEvents = processedEvents;
+    }
+
+    /**
+     * Method creates the result of a building which has run to completion.
+     *
+     * @param building                  Building object
+     * @param liftWeight                maximum lift capacity
+     * @param passengerNo               number of passengers
+     * @return                          SweepResult object
+     */
+    public static SweepResult of(Building building, int liftWeight, int passengerNo) {
+        MetricsRegistry.Snapshot metrics = building.getMetrics().snapshot();
+        return new SweepResult(liftWeight, building.getMaxFloor(), passengerNo, building.getMaxLift(),
+                metrics.getCost(), (int) metrics.getTotalMoves(),
+                (int) metrics.getTotalBoardPassengers(), (int) metrics.getTotalAlightPassengers(),
+                building.getEngine().getTime(), building.getEngine().getProcessedEvents());
+    }
+
+    public int getLiftWeight() {
+        return liftWeight;
+    }
+
+    public int getMaxFloor() {
+        return maxFloor;
+    }
+
+    public int getPassengerNo() {
+        return passengerNo;
+    }
+
+    public int getMaxLift() {
+        return maxLift;
+    }
+
+    public double getCost() {
+        return cost;
+    }
+
+    public int getTotalMoves() {
+        return totalMoves;
+    }
+
+    public int getTotalBoardPassengers() {
+        return totalBoardPassengers;
+    }
+
+    public int getTotalAlightPassengers() {
+        return totalAlightPassengers;
+    }
+
+    public long getSimulationTime() {
+        return simulationTime;
+    }
+
+    public long getProcessedEvents() {
+        return processedEvents;
+    }
+
+    /**
+     * Method combines the SweepResult's attributes into a String.
+     *
+     * @return                          result's attributes as String
+     */
+    @Override
+    public String toString() {
+        return "SweepResult{" +
+                "liftWeight=" + liftWeight +
+                ", maxFloor=" + maxFloor +
+                ", passengerNo=" + passengerNo +
+                ", maxLift=" + maxLift +
+                ", cost=" + cost +
+                ", totalMoves=" + totalMoves +
+                ", totalBoardPassengers=" + totalBoardPassengers +
+                ", totalAlightPassengers=" + totalAlightPassengers +
+                ", simulationTime=" + simulationTime +
+                ", processedEvents=" + processedEvents +
+                '}';
+    }
+}
@@ -0,0 +1,292 @@
+package com.simulation.lift.sweep;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Columnar binary file of sweep results, read by GraphPanel.py.
+ *
+ * The file starts with a magic number, a version (int) and the master seed of the sweep (long),
+ * followed by chunks.
+ * Each chunk holds its row count and then one little-endian column after the other:
+ * lift capacity, floor number, passenger number, lift number (int), cost (double, the moves
+ * per alighted passenger and lift, no longer truncated to an integer since version 3),
+ * total moves, total boarded, total alighted (int), simulation time and processed events (long).
+ * A chunk cut short by an interrupted sweep is dropped when the file is opened again,
+ * so a sweep can be resumed by appending.
+ * A file written by another version or with another seed holds other results, so it is discarded
+ * when opened for appending, and none of its grid points count as completed.
+ */
+public class SweepStore implements Closeable {
+    private static final int MAGIC = 0x4C535750;
+    private static final int VERSION = 4;
+    private static final int HEADER_SIZE = 2 * Integer.BYTES + Long.BYTES;
+    private static final int ROW_SIZE = 4 * Integer.BYTES + Double.BYTES + 3 * Integer.BYTES + 2 * Long.BYTES;
+    private static final int CHUNK_ROWS = 1024;
+
+    private final FileChannel channel;
+    private final ByteBuffer chunk;
+    private final SweepResult[] rows;
+    private int rowCount;
+
+    /**
+     * Constructs an instance of the object appending to the given file the results of a sweep
+     * of the given seed. The file is created when it does not exist, and replaced when it holds
+     * the results of another version or seed.
+     *
+     * @param path                      path of the file
+     * @param seed                      master seed of the sweep
+     * @throws IOException              if the file cannot be opened or is not a sweep file
+     */
+    public SweepStore(Path path, long seed) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.chunk = ByteBuffer.allocateDirect(Integer.BYTES + CHUNK_ROWS * ROW_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        this.rows = new SweepResult[CHUNK_ROWS];
+
+        if (this.channel.size() > 0 && !isCurrent(this.channel, seed)) {
+            this.channel.truncate(0);
+        }
+        if (this.channel.size() == 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putLong(seed).flip();
+            while (header.hasRemaining()) {
+                this.channel.write(header);
+            }
+        } else {
+            this.channel.truncate(completeLength(map(this.channel)));
+        }
+        this.channel.position(this.channel.size());
+    }
+
+    /**
+     * Method reads every result of a sweep file through a memory-mapped buffer.
+     *
+     * @param path                      path of the file
+     * @return                          list of results
+     * @throws IOException              if the file cannot be read or is not a sweep file
+     */
+    public static List<SweepResult> read(Path path) throws IOException {
+        List<SweepResult> results = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = map(channel);
+            int end = completeLength(buffer);
+
+            int position = HEADER_SIZE;
+            while (position < end) {
+                int count = buffer.getInt(position);
+                position += Integer.BYTES;
+                for (int i = 0; i < count; i++) {
+                    results.add(readRow(buffer, position, count, i));
+                }
+                position += count * ROW_SIZE;
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Method reads the grid points already stored in a sweep file.
+     *
+     * @param path                      path of the file
+     * @param seed                      master seed of the sweep resumed
+     * @return                          keys of the grid points, see {@link #key(int, int, int)}, none when
+     *                                  the file does not exist or was written by another version or seed
+     * @throws IOException              if the file cannot be read
+     */
+    public static Set<Long> readKeys(Path path, long seed) throws IOException {
+        Set<Long> keys = new HashSet<>();
+        if (!Files.exists(path)) {
+            return keys;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (!isCurrent(channel, seed)) {
+                return keys;
+            }
+        }
+        for (SweepResult result : read(path)) {
+            keys.add(key(result.getLiftWeight(), result.getMaxFloor(), result.getPassengerNo()));
+        }
+        return keys;
+    }
+
+    /**
+     * Method combines a grid point into a single key.
+     *
+     * @param liftWeight                maximum lift capacity
+     * @param maxFloor                  maximum floor number
+     * @param passengerNo               number of passengers
+     * @return                          key of the grid point
+     */
+    public static long key(int liftWeight, int maxFloor, int passengerNo) {
+        return ((long) liftWeight << 42) | ((long) maxFloor << 21) | passengerNo;
+    }
+
+    /**
+     * Method appends a result, writing a chunk to the file once it is full.
+     *
+     * @param result                    SweepResult object
+     * @throws IOException              if the chunk cannot be written
+     */
+    public synchronized void append(SweepResult result) throws IOException {
+        this.rows[this.rowCount++] = result;
+        if (this.rowCount == CHUNK_ROWS) {
+            flush();
+        }
+    }
+
+    /**
+     * Method writes the pending results to the file as a chunk.
+     *
+     * @throws IOException              if the chunk cannot be written
+     */
+    public synchronized void flush() throws IOException {
+        if (this.rowCount == 0) {
+            return;
+        }
+
+        this.chunk.clear();
+        this.chunk.putInt(this.rowCount);
+        for (int i = 0; i < this.rowCount; i++) {
+            this.chunk.putInt(this.rows[i].getLiftWeight());
+        }
+        for (int i = 0; i < this.rowCount; i++) {
+            this.chunk.putInt(this.rows[i].getMaxFloor());
+        }
+        for (int i = 0; i < this.rowCount; i++) {
+            this.chunk.putInt(this.rows[i].getPassengerNo());
+        }
+        for (int i = 0; i < this.rowCount; i++) {
+            this.chunk.putInt(this.rows[i].getMaxLift());
+        }
+        for (int i = 0; i < this.rowCount; i++) {
+            this.chunk.putDouble(this.rows[i].getCost());
+        }
+        for (int i = 0; i < this.rowCount; i++) {
+            this.chunk.putInt(this.rows[i].getTotalMoves());
+        }
+        for (int i = 0; i < this.rowCount; i++) {
+            this.chunk.putInt(this.rows[i].getTotalBoardPassengers());
+        }
+        for (int i = 0; i < this.rowCount; i++) {
+            this.chunk.putInt(this.rows[i].getTotalAlightPassengers());
+        }
+        for (int i = 0; i < this.rowCount; i++) {
+            this.chunk.putLong(this.rows[i].getSimulationTime());
+        }
+        for (int i = 0; i < this.rowCount; i++) {
+            this.chunk.putLong(this.rows[i].getProcessedEvents());
+        }
+        this.chunk.flip();
+
+        while (this.chunk.hasRemaining()) {
+            this.channel.write(this.chunk);
+        }
+        this.rowCount = 0;
+    }
+
+    /**
+     * Method writes the pending results and closes the file.
+     *
+     * @throws IOException              if the file cannot be written
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            this.channel.close();
+        }
+    }
+
+    /**
+     * Method checks whether a sweep file was written by this version for a seed.
+     *
+     * @param channel                   channel of the file
+     * @param seed                      master seed of the sweep
+     * @return                          is the header the one of this version and seed
+     * @throws IOException              if the file cannot be read
+     */
+    private static boolean isCurrent(FileChannel channel, long seed) throws IOException {
+        if (channel.size() < HEADER_SIZE) {
+            return false;
+        }
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        return header.getInt(0) == MAGIC && header.getInt(Integer.BYTES) == VERSION && header.getLong(2 * Integer.BYTES) == seed;
+    }
+
+    /**
+     * Method maps a sweep file and checks its header.
+     *
+     * @param channel                   channel of the file
+     * @return                          mapped buffer
+     * @throws IOException              if the file is not a sweep file
+     */
+    private static MappedByteBuffer map(FileChannel channel) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != VERSION) {
+            throw new IOException("Not a sweep results file.");
+        }
+        return buffer;
+    }
+
+    /**
+     * Method gets the length of the file up to the last complete chunk.
+     *
+     * @param buffer                    mapped file
+     * @return                          length in bytes
+     */
+    private static int completeLength(ByteBuffer buffer) {
+        int position = HEADER_SIZE;
+        while (position + Integer.BYTES <= buffer.limit()) {
+            int count = buffer.getInt(position);
+            int next = position + Integer.BYTES + count * ROW_SIZE;
+            if (count <= 0 || next > buffer.limit()) {
+                break;
+            }
+            position = next;
+        }
+        return position;
+    }
+
+    /**
+     * Method reads one row of a chunk, whose columns follow each other.
+     *
+     * @param buffer                    mapped file
+     * @param position                  position of the chunk's first column
+     * @param count                     number of rows in the chunk
+     * @param row                       index of the row in the chunk
+     * @return                          SweepResult object
+     */
+    private static SweepResult readRow(ByteBuffer buffer, int position, int count, int row) {
+        int intColumn = count * Integer.BYTES;
+        int costColumn = position + 4 * intColumn;
+        int totalsColumn = costColumn + count * Double.BYTES;
+        int timeColumn = totalsColumn + 3 * intColumn;
+        int intOffset = row * Integer.BYTES;
+        int longOffset = row * Long.BYTES;
+
+        return new SweepResult(
+                buffer.getInt(position + intOffset),
+                buffer.getInt(position + intColumn + intOffset),
+                buffer.getInt(position + 2 * intColumn + intOffset),
+                buffer.getInt(position + 3 * intColumn + intOffset),
+                buffer.getDouble(costColumn + longOffset),
+                buffer.getInt(totalsColumn + intOffset),
+                buffer.getInt(totalsColumn + intColumn + intOffset),
+                buffer.getInt(totalsColumn + 2 * intColumn + intOffset),
+                buffer.getLong(timeColumn + longOffset),
+                buffer.getLong(timeColumn + count * Long.BYTES + longOffset));
+    }
+}